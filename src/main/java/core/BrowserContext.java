@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2025 Ece Akkurt Kılıç
+ *
+ * Licensed under the MIT License. You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package core;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One independent journey inside a shared Chromium process: a separate browser context with its own
+ * cookies, storage and cache.
+ * {@link #getDriver()} returns a driver bound to this context, so page objects never see the other journeys' windows.
+ */
+public final class BrowserContext {
+
+    private final SharedBrowser shared;
+    private final String browserContextId;
+    private final Set<String> ownedHandles = ConcurrentHashMap.newKeySet();
+    private final WebDriver driver;
+    private volatile String currentHandle;
+    // Frames entered in the current window, outermost first; replayed whenever the window is re-activated
+    private final List<Object> framePath = new ArrayList<>();
+
+    BrowserContext(SharedBrowser shared, String handle, String browserContextId) {
+        this.shared = shared;
+        this.browserContextId = browserContextId;
+        this.currentHandle = handle;
+        this.ownedHandles.add(handle);
+        this.driver = ContextInvocationHandler.bind(this);
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    public String getCurrentHandle() {
+        return currentHandle;
+    }
+
+    public void close() {
+        shared.close(this);
+    }
+
+    SharedBrowser shared() {
+        return shared;
+    }
+
+    String getBrowserContextId() {
+        return browserContextId;
+    }
+
+    Set<String> ownedHandles() {
+        return ownedHandles;
+    }
+
+    void setCurrentHandle(String handle) {
+        if (!handle.equals(currentHandle)) {
+            framePath.clear();
+        }
+        this.currentHandle = handle;
+    }
+
+    List<Object> framePath() {
+        return framePath;
+    }
+
+    // Mirrors a TargetLocator call that succeeded; the argument is the frame index, name/id or unwrapped element
+    void trackFrame(String method, Object[] args) {
+        switch (method) {
+            case "frame":
+                framePath.add(args[0]);
+                break;
+            case "parentFrame":
+                if (!framePath.isEmpty()) {
+                    framePath.remove(framePath.size() - 1);
+                }
+                break;
+            case "defaultContent":
+                framePath.clear();
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BrowserContext[" + browserContextId + ", " + currentHandle + "]";
+    }
+}
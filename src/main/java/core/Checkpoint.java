@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2025 Ece Akkurt Kılıç
+ *
+ * Licensed under the MIT License. You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package core;
+
+import org.openqa.selenium.Cookie;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Browser state captured after a named journey prefix: URL, cookies, web storage and optionally the DOM.
+ */
+public final class Checkpoint {
+
+    private final String name;
+    private final String browser;
+    private final String url;
+    private final Set<Cookie> cookies;
+    private final Map<String, String> localStorage;
+    private final Map<String, String> sessionStorage;
+    private final String dom;
+    private final Duration prefixDuration;
+    private final Instant capturedAt;
+
+    Checkpoint(String name, String browser, String url, Set<Cookie> cookies, Map<String, String> localStorage,
+               Map<String, String> sessionStorage, String dom, Duration prefixDuration) {
+        this.name = name;
+        this.browser = browser;
+        this.url = url;
+        this.cookies = Set.copyOf(cookies);
+        this.localStorage = Map.copyOf(localStorage);
+        this.sessionStorage = Map.copyOf(sessionStorage);
+        this.dom = dom;
+        this.prefixDuration = prefixDuration;
+        this.capturedAt = Instant.now();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public Set<Cookie> getCookies() {
+        return cookies;
+    }
+
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+
+    public Map<String, String> getSessionStorage() {
+        return sessionStorage;
+    }
+
+    /** Serialized DOM, or {@code null} when it was not captured. */
+    public String getDom() {
+        return dom;
+    }
+
+    /** Wall time the prefix steps took when they actually ran. */
+    public Duration getPrefixDuration() {
+        return prefixDuration;
+    }
+
+    public Instant getCapturedAt() {
+        return capturedAt;
+    }
+
+    /**
+     * Stale once older than {@code maxAge}. Expired cookies do not count: short-lived analytics or consent cookies
+     * are simply left out on restore, and the caller's validation catches a state that really depends on them.
+     */
+    public boolean isStale(Duration maxAge) {
+        return capturedAt.plus(maxAge).isBefore(Instant.now());
+    }
+}
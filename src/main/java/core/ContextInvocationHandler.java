@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2025 Ece Akkurt Kılıç
+ *
+ * Licensed under the MIT License. You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package core;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.WrapsElement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Routes every call on a context-bound driver, and on the elements/navigation/options objects it hands out,
+ * through {@link SharedBrowser#call} so the right window is active when the command runs.
+ */
+final class ContextInvocationHandler implements InvocationHandler {
+
+    private final BrowserContext context;
+    private final Object target;
+    private final boolean root;
+
+    private ContextInvocationHandler(BrowserContext context, Object target, boolean root) {
+        this.context = context;
+        this.target = target;
+        this.root = root;
+    }
+
+    static WebDriver bind(BrowserContext context) {
+        WebDriver real = context.shared().driver();
+        return (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(),
+                publicInterfaces(real.getClass(), null),
+                new ContextInvocationHandler(context, real, true));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (method.getDeclaringClass() == Object.class) {
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return context + " -> " + target;
+            }
+        }
+        if (method.getDeclaringClass() == WrapsElement.class) {
+            return target;
+        }
+        if (root) {
+            switch (name) {
+                case "getWindowHandle":
+                    return context.getCurrentHandle();
+                case "getWindowHandles":
+                    return context.shared().windowHandles(context);
+                case "close":
+                    context.shared().closeWindow(context);
+                    return null;
+                case "quit":
+                    context.close();
+                    return null;
+                default:
+                    break;
+            }
+        }
+        if (target instanceof WebDriver.TargetLocator) {
+            if ("window".equals(name)) {
+                context.shared().switchWithin(context, (String) args[0]);
+                return context.getDriver();
+            }
+            if ("newWindow".equals(name)) {
+                context.shared().newWindow(context, (WindowType) args[0]);
+                return context.getDriver();
+            }
+        }
+        Object[] realArgs = unwrapArgs(args);
+        Object result = context.shared().call(context, () -> {
+            Object value = method.invoke(target, realArgs);
+            if (target instanceof WebDriver.TargetLocator) {
+                // Switching windows resets the frame, so SharedBrowser re-enters these on activation
+                context.trackFrame(name, realArgs);
+            }
+            return value;
+        });
+        if (result instanceof WebDriver) {
+            return context.getDriver();
+        }
+        return wrap(result);
+    }
+
+    private Object wrap(Object result) {
+        if (result == null || Proxy.isProxyClass(result.getClass())) {
+            return result;
+        }
+        if (result instanceof WebElement) {
+            return Proxy.newProxyInstance(WebDriver.class.getClassLoader(),
+                    publicInterfaces(result.getClass(), WrapsElement.class),
+                    new ContextInvocationHandler(context, result, false));
+        }
+        if (result instanceof WebDriver.Navigation || result instanceof WebDriver.Options
+                || result instanceof WebDriver.Timeouts || result instanceof WebDriver.Window
+                || result instanceof WebDriver.TargetLocator || result instanceof Alert) {
+            return Proxy.newProxyInstance(WebDriver.class.getClassLoader(),
+                    publicInterfaces(result.getClass(), null),
+                    new ContextInvocationHandler(context, result, false));
+        }
+        if (result instanceof List) {
+            List<Object> list = new ArrayList<>();
+            for (Object o : (List<?>) result) list.add(wrap(o));
+            return list;
+        }
+        if (result instanceof Set) {
+            Set<Object> set = new LinkedHashSet<>();
+            for (Object o : (Set<?>) result) set.add(wrap(o));
+            return set;
+        }
+        if (result instanceof Map) {
+            Map<Object, Object> map = new LinkedHashMap<>();
+            ((Map<?, ?>) result).forEach((k, v) -> map.put(k, wrap(v)));
+            return map;
+        }
+        return result;
+    }
+
+    private static Object[] unwrapArgs(Object[] args) {
+        if (args == null) return null;
+        Object[] copy = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            copy[i] = unwrap(args[i]);
+        }
+        return copy;
+    }
+
+    private static Object unwrap(Object arg) {
+        if (arg != null && Proxy.isProxyClass(arg.getClass())
+                && Proxy.getInvocationHandler(arg) instanceof ContextInvocationHandler) {
+            return ((ContextInvocationHandler) Proxy.getInvocationHandler(arg)).target;
+        }
+        if (arg instanceof Object[]) {
+            return unwrapArgs((Object[]) arg);
+        }
+        if (arg instanceof List) {
+            List<Object> list = new ArrayList<>();
+            for (Object o : (Collection<?>) arg) list.add(unwrap(o));
+            return list;
+        }
+        if (arg instanceof Map) {
+            Map<Object, Object> map = new LinkedHashMap<>();
+            ((Map<?, ?>) arg).forEach((k, v) -> map.put(k, unwrap(v)));
+            return map;
+        }
+        return arg;
+    }
+
+    private static Class<?>[] publicInterfaces(Class<?> type, Class<?> extra) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            collect(c.getInterfaces(), interfaces);
+        }
+        if (extra != null) {
+            interfaces.add(extra);
+        }
+        return interfaces.toArray(new Class<?>[0]);
+    }
+
+    private static void collect(Class<?>[] candidates, Set<Class<?>> into) {
+        for (Class<?> candidate : candidates) {
+            if (Modifier.isPublic(candidate.getModifiers()) && into.add(candidate)) {
+                collect(candidate.getInterfaces(), into);
+            }
+        }
+    }
+}
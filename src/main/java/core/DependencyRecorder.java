@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2025 Ece Akkurt Kılıç
+ *
+ * Licensed under the MIT License. You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package core;
+
+import org.openqa.selenium.support.FindBy;
+import utils.Constants;
+import utils.Hashes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Records which page classes and {@link Constants} entries a test touches, and fingerprints them,
+ * so a later run can tell whether anything the test depends on has changed.
+ * <p>
+ * Keys look like {@code class:pages.HomePage} or {@code constant:ACCEPT}; a page's class bytes already cover
+ * its {@code @FindBy} locators. Anything recorded outside a running test (driver setup in {@code @BeforeClass})
+ * is attributed to every test that later runs on the same thread.
+ * <p>
+ * Calls into helpers (macros, locator batches, drivers, test bases) are not traced one by one. Instead
+ * {@link #SHARED_CODE} fingerprints every project class under the registered code roots except page objects,
+ * which are tracked per class, and {@link Constants}, which is tracked per entry.
+ */
+public final class DependencyRecorder {
+
+    /** Key of the fingerprint over all shared (non page object) project classes. */
+    public static final String SHARED_CODE = "code:shared";
+
+    // target/classes; the test side adds target/test-classes through addCodeRoot
+    private static final Set<Path> CODE_ROOTS = new LinkedHashSet<>();
+    private static String cachedSharedCode;
+
+    static {
+        addCodeRoot(DependencyRecorder.class);
+    }
+
+    private static final ThreadLocal<Set<String>> AMBIENT = ThreadLocal.withInitial(LinkedHashSet::new);
+    private static final ThreadLocal<Set<String>> CURRENT = new ThreadLocal<>();
+
+    private DependencyRecorder() {}
+
+    public static void startTest() {
+        CURRENT.set(new LinkedHashSet<>(AMBIENT.get()));
+    }
+
+    public static Set<String> finishTest() {
+        Set<String> recorded = CURRENT.get();
+        CURRENT.remove();
+        return recorded == null ? Collections.emptySet() : recorded;
+    }
+
+    public static void clearAmbient() {
+        AMBIENT.remove();
+    }
+
+    /** Records the page class and its superclasses; their class bytes include the {@code @FindBy} locators. */
+    public static void recordPage(Class<?> pageClass) {
+        for (Class<?> c = pageClass; c != null && c != Object.class; c = c.getSuperclass()) {
+            recordClass(c);
+        }
+    }
+
+    public static void recordClass(Class<?> type) {
+        record("class:" + type.getName());
+    }
+
+    /** Records every {@link Constants} entry whose value is {@code value}; other strings are ignored. */
+    public static void recordConstant(String value) {
+        if (value == null) return;
+        for (String name : ConstantNames.BY_VALUE.getOrDefault(value, Collections.emptyList())) {
+            record("constant:" + name);
+        }
+    }
+
+    // Constants are static final, so the value -> field names index is built once, on first use
+    private static final class ConstantNames {
+        static final Map<String, List<String>> BY_VALUE = new HashMap<>();
+
+        static {
+            for (Field field : Constants.class.getDeclaredFields()) {
+                Object value = Modifier.isStatic(field.getModifiers()) ? readConstant(field) : null;
+                if (value instanceof String) {
+                    BY_VALUE.computeIfAbsent((String) value, v -> new ArrayList<>()).add(field.getName());
+                }
+            }
+        }
+    }
+
+    /** Includes the classes compiled alongside {@code anchor} (its class directory) in {@link #SHARED_CODE}. */
+    public static synchronized void addCodeRoot(Class<?> anchor) {
+        CodeSource source = anchor.getProtectionDomain().getCodeSource();
+        if (source == null) return;
+        try {
+            Path root = Paths.get(source.getLocation().toURI());
+            if (Files.isDirectory(root) && CODE_ROOTS.add(root)) {
+                cachedSharedCode = null;
+            }
+        } catch (URISyntaxException | IllegalArgumentException ignored) {
+            // Not a plain directory (e.g. a jar) — not project code
+        }
+    }
+
+    /** Current fingerprint of a recorded dependency, or {@code null} when it no longer exists. */
+    public static String fingerprint(String key) {
+        int colon = key.indexOf(':');
+        String kind = key.substring(0, colon);
+        String name = key.substring(colon + 1);
+        switch (kind) {
+            case "class":
+                return classFingerprint(name);
+            case "code":
+                return SHARED_CODE.equals(key) ? sharedCodeFingerprint() : null;
+            case "constant":
+                try {
+                    return Hashes.sha256(String.valueOf(readConstant(Constants.class.getDeclaredField(name)))
+                            .getBytes(StandardCharsets.UTF_8));
+                } catch (NoSuchFieldException e) {
+                    return null;
+                }
+            default:
+                return null;
+        }
+    }
+
+    private static void record(String key) {
+        Set<String> target = CURRENT.get();
+        (target != null ? target : AMBIENT.get()).add(key);
+    }
+
+    private static String classFingerprint(String className) {
+        String resource = "/" + className.replace('.', '/') + ".class";
+        try (InputStream in = DependencyRecorder.class.getResourceAsStream(resource)) {
+            return in == null ? null : Hashes.sha256(in.readAllBytes());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Computed once per JVM; class files do not change while the suite runs
+    private static synchronized String sharedCodeFingerprint() {
+        if (cachedSharedCode != null) {
+            return cachedSharedCode;
+        }
+        try {
+            MessageDigest digest = Hashes.newSha256();
+            for (Path root : CODE_ROOTS) {
+                List<Path> classFiles;
+                try (Stream<Path> files = Files.walk(root)) {
+                    classFiles = files.filter(p -> p.toString().endsWith(".class")).sorted().collect(Collectors.toList());
+                }
+                for (Path file : classFiles) {
+                    String relative = root.relativize(file).toString().replace('\\', '/');
+                    if (!isShared(relative.substring(0, relative.length() - ".class".length()).replace('/', '.'))) {
+                        continue;
+                    }
+                    digest.update(relative.getBytes(StandardCharsets.UTF_8));
+                    digest.update(Files.readAllBytes(file));
+                }
+            }
+            cachedSharedCode = Hashes.hex(digest.digest());
+            return cachedSharedCode;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Page objects (classes declaring @FindBy fields) and Constants have finer-grained keys of their own
+    private static boolean isShared(String className) {
+        if (className.equals(Constants.class.getName())) {
+            return false;
+        }
+        try {
+            Class<?> type = Class.forName(className, false, DependencyRecorder.class.getClassLoader());
+            return Arrays.stream(type.getDeclaredFields()).noneMatch(f -> f.isAnnotationPresent(FindBy.class));
+        } catch (ClassNotFoundException | LinkageError e) {
+            return true;
+        }
+    }
+
+    private static Object readConstant(Field field) {
+        try {
+            return field.get(null);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+}
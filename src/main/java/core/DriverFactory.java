@@ -27,56 +27,229 @@
 package core;
 
 import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.HasCapabilities;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumDriver;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.http.ClientConfig;
 import utils.Constants;
+import utils.SuiteMetrics;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class DriverFactory {
     private static final ThreadLocal<WebDriver> TL_DRIVER = new ThreadLocal<>();
+    // Per-session copies of user data templates, removed again on quit
+    private static final Map<WebDriver, Path> SESSION_DIRS = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, WireMetrics> SESSION_WIRE = new ConcurrentHashMap<>();
+    private static final ThreadLocal<WireMetrics> TL_WIRE = new ThreadLocal<>();
+
+    // Shared timeouts for every session's command channel; read timeout must outlast pageLoadTimeout.
+    // Only the timeouts are set: each driver still builds its own client, and keep-alive/pooling are the defaults
+    // of the client picked by -Dwebdriver.http.factory (set for mvn test in the surefire config)
+    private static final ClientConfig CLIENT_CONFIG = ClientConfig.defaultConfig()
+            .connectionTimeout(Duration.ofSeconds(10))
+            .readTimeout(Duration.ofSeconds(Long.getLong("driverReadTimeoutSeconds", 90)));
+    // -DsharedBrowser=true: one browser process per browser type, one context per journey
+    private static final Map<String, SharedBrowser> SHARED_BROWSERS = new ConcurrentHashMap<>();
+    private static final Map<String, Object> SHARED_BROWSER_STARTS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<BrowserContext> TL_CONTEXT = new ThreadLocal<>();
+    private static final Map<String, Boolean> RESOLVED_DRIVERS = new ConcurrentHashMap<>();
+
+    private static volatile boolean headlessShellWarned;
+    private static volatile boolean httpFactoryReported;
 
     private DriverFactory() {}
 
     public static void init(String baseURL, String browser, String firefoxBinary) {
+        if (!httpFactoryReported) {
+            httpFactoryReported = true;
+            String factory = System.getProperty("webdriver.http.factory");
+            System.out.println("Driver HTTP client: " + (factory == null
+                    ? "Selenium default (set -Dwebdriver.http.factory=jdk-http-client as mvn test does)" : factory));
+        }
         String br = browser == null ? Constants.CHROME : browser.trim();
-        switch (br) {
-            case Constants.FIREFOX:
-                TL_DRIVER.set(createFirefoxDriver(firefoxBinary));
-                break;
-            case Constants.CHROME:
-            default:
-                WebDriverManager.chromedriver().setup();
-                TL_DRIVER.set(new ChromeDriver(getChromeOptions()));
-                break;
+        DependencyRecorder.recordClass(DriverFactory.class);
+        DependencyRecorder.recordConstant(br);
+        if (Boolean.getBoolean("sharedBrowser") && !Constants.CHROME.equals(br)) {
+            System.out.println("WARNING: -DsharedBrowser needs Chromium browser contexts; " + br
+                    + " gets a dedicated process per journey");
+        }
+        if (Boolean.getBoolean("sharedBrowser") && Constants.CHROME.equals(br)) {
+            BrowserContext context = openContext(br, firefoxBinary);
+            TL_CONTEXT.set(context);
+            TL_DRIVER.set(context.getDriver());
+            TL_WIRE.set(SESSION_WIRE.get(context.shared().driver()));
+        } else {
+            WebDriver driver = createDriver(br, LaunchProfile.fromSystemProperty(), firefoxBinary);
+            TL_DRIVER.set(driver);
+            TL_WIRE.set(SESSION_WIRE.get(driver));
         }
 
         WebDriver driver = getDriver();
+        if (baseURL != null && !baseURL.isEmpty()) {
+            driver.navigate().to(baseURL);
+        }
+    }
+
+    /**
+     * Starts a new, fully configured session. The caller owns it and must release it with {@link #quit(WebDriver)}.
+     */
+    public static WebDriver createDriver(String browser, LaunchProfile profile, String firefoxBinary) {
+        resolveDriverBinary(browser);
+        WebDriver driver;
+        Path userDataDir = null;
+        WireMetrics wire = new WireMetrics();
+        ClientConfig clientConfig = CLIENT_CONFIG.withFilter(wire);
+        if (profile.isReuseUserData()) {
+            // Plain directory copy with caches skipped; FirefoxProfile would zip the whole profile per session
+            Path template = UserDataTemplates.ensure(browser, profile, dir -> warmUp(browser, profile, firefoxBinary, dir));
+            userDataDir = UserDataTemplates.copyForSession(template);
+            driver = launch(browser, profile, firefoxBinary, userDataDir, clientConfig);
+            String version = browserVersion(driver);
+            if (!UserDataTemplates.isCurrent(template, version)) {
+                // Browser upgraded since the template was written: warm a new one rather than run on the old profile
+                System.out.println("User data template " + template + " was written by another " + browser
+                        + " version than " + version + "; re-creating it");
+                driver.quit();
+                UserDataTemplates.deleteRecursively(userDataDir);
+                UserDataTemplates.invalidate(browser, profile, version);
+                template = UserDataTemplates.ensure(browser, profile, dir -> warmUp(browser, profile, firefoxBinary, dir));
+                userDataDir = UserDataTemplates.copyForSession(template);
+                driver = launch(browser, profile, firefoxBinary, userDataDir, clientConfig);
+            }
+        } else {
+            driver = launch(browser, profile, firefoxBinary, null, clientConfig);
+        }
+        if (userDataDir != null) {
+            SESSION_DIRS.put(driver, userDataDir);
+        }
+        SESSION_WIRE.put(driver, wire);
+
         // Prefer explicit waits (implicit 0) to avoid mixing
         driver.manage().timeouts().implicitlyWait(Duration.ZERO);
         driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(45));
         try {
-            driver.manage().window().maximize();
+            Dimension viewport = profile.getViewport();
+            if (viewport != null) {
+                driver.manage().window().setSize(viewport);
+            } else {
+                driver.manage().window().maximize();
+            }
         } catch (Exception ignored) {}
+        return driver;
+    }
 
-        if (baseURL != null && !baseURL.isEmpty()) {
-            driver.navigate().to(baseURL);
+    /**
+     * Opens a new context in the shared Chromium browser for {@code browser}, starting that browser on first use.
+     * The context's driver can be used from any thread, but commands are serialized per browser process:
+     * parallel journeys on one shared browser do not run their commands concurrently.
+     */
+    public static BrowserContext openContext(String browser, String firefoxBinary) {
+        SharedBrowser shared = SHARED_BROWSERS.get(browser);
+        if (shared == null) {
+            // Start the browser outside the map so other keys and readers are never blocked by a launch
+            synchronized (SHARED_BROWSER_STARTS.computeIfAbsent(browser, b -> new Object())) {
+                shared = SHARED_BROWSERS.get(browser);
+                if (shared == null) {
+                    LaunchProfile profile = LaunchProfile.fromSystemProperty();
+                    WebDriver driver = createDriver(browser, profile, firefoxBinary);
+                    if (!(driver instanceof ChromiumDriver)) {
+                        quit(driver);
+                        throw new IllegalArgumentException("Shared browsers need Chromium browser contexts, got " + browser);
+                    }
+                    shared = new SharedBrowser(browser, (ChromiumDriver) driver, profile);
+                    SHARED_BROWSERS.put(browser, shared);
+                }
+            }
+        }
+        return shared.openContext();
+    }
+
+    /** Quits every shared browser process; call once at the end of the suite. */
+    public static void quitSharedBrowsers() {
+        SHARED_BROWSERS.values().removeIf(shared -> {
+            shared.quit();
+            return true;
+        });
+    }
+
+    /**
+     * Downloads or locates the driver executable for {@code browser}, once per JVM. Called by
+     * {@link #createDriver}; call it up front to keep driver resolution out of a session-creation timing.
+     */
+    public static void resolveDriverBinary(String browser) {
+        RESOLVED_DRIVERS.computeIfAbsent(Constants.FIREFOX.equals(browser) ? Constants.FIREFOX : Constants.CHROME, b -> {
+            if (Constants.FIREFOX.equals(b)) {
+                WebDriverManager.firefoxdriver().setup();
+            } else {
+                WebDriverManager.chromedriver().setup();
+            }
+            return Boolean.TRUE;
+        });
+    }
+
+    private static WebDriver launch(String browser, LaunchProfile profile, String firefoxBinary, Path userDataDir,
+                                    ClientConfig clientConfig) {
+        if (Constants.FIREFOX.equals(browser)) {
+            return new FirefoxDriver(GeckoDriverService.createDefaultService(),
+                    getFirefoxOptions(profile, firefoxBinary, userDataDir), clientConfig);
         }
+        return new ChromeDriver(ChromeDriverService.createDefaultService(),
+                getChromeOptions(profile, userDataDir), clientConfig);
+    }
+
+    private static String browserVersion(WebDriver driver) {
+        return driver instanceof HasCapabilities
+                ? ((HasCapabilities) driver).getCapabilities().getBrowserVersion()
+                : "";
     }
 
-    private static ChromeOptions getChromeOptions() {
+    /** Drops the pre-warmed template so the next session of this profile starts cold. */
+    public static void resetUserDataTemplate(String browser, LaunchProfile profile) {
+        UserDataTemplates.reset(browser, profile);
+    }
+
+    private static ChromeOptions getChromeOptions(LaunchProfile profile, Path userDataDir) {
         ChromeOptions options = new ChromeOptions();
-        options.addArguments("--disable-gpu", "--no-sandbox", "--window-size=1920,1080");
+        Dimension viewport = profile.getViewport();
+        String windowSize = viewport == null ? "1920,1080" : viewport.getWidth() + "," + viewport.getHeight();
+        options.addArguments("--disable-gpu", "--no-sandbox", "--window-size=" + windowSize);
         options.addArguments("--disable-notifications");
-        // Headless toggle via -Dheadless=true
-        if (Boolean.getBoolean("headless")) {
+        if (profile.isLean()) {
+            options.addArguments("--disable-extensions", "--disable-background-networking",
+                    "--disable-component-update");
+        }
+        String shell = profile.isHeadlessShell() ? resolveHeadlessShell() : null;
+        if (shell != null) {
+            options.setBinary(shell);
+        } else if (profile.isHeadlessShell()) {
+            // Chrome 132+ no longer ships the shell inside the browser binary (--headless=old is gone)
+            if (!headlessShellWarned) {
+                headlessShellWarned = true;
+                System.out.println("WARNING: chrome-headless-shell not found (set -DheadlessShellBinary or put it on PATH); "
+                        + "profile '" + profile.getId() + "' falls back to full Chrome with --headless=new");
+            }
+            options.addArguments("--headless=new");
+        } else if (profile.isHeadless()) {
             options.addArguments("--headless=new");
         }
+        if (userDataDir != null) {
+            options.addArguments("--user-data-dir=" + userDataDir.toAbsolutePath());
+        }
         Map<String, Object> prefs = new HashMap<>();
         prefs.put("profile.default_content_setting_values.notifications", 2);
         prefs.put("profile.default_content_setting_values.geolocation", 2);
@@ -85,19 +258,70 @@ public final class DriverFactory {
         return options;
     }
 
-    private static WebDriver createFirefoxDriver(String firefoxBinary) {
-        WebDriverManager.firefoxdriver().setup();
+    /** -DheadlessShellBinary, else chrome-headless-shell on the PATH, else {@code null}. */
+    private static String resolveHeadlessShell() {
+        String configured = System.getProperty("headlessShellBinary");
+        if (configured != null && !configured.isEmpty()) {
+            if (!Files.isExecutable(Paths.get(configured))) {
+                throw new IllegalStateException("headlessShellBinary is not an executable file: " + configured);
+            }
+            return configured;
+        }
+        String path = System.getenv("PATH");
+        if (path == null) return null;
+        for (String dir : path.split(File.pathSeparator)) {
+            for (String name : new String[]{"chrome-headless-shell", "chrome-headless-shell.exe"}) {
+                Path candidate = Paths.get(dir, name);
+                if (Files.isExecutable(candidate)) {
+                    return candidate.toString();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static FirefoxOptions getFirefoxOptions(LaunchProfile profile, String firefoxBinary, Path userData) {
         FirefoxOptions options = new FirefoxOptions();
         options.addPreference("dom.webnotifications.enabled", false);
         options.addPreference("network.stricttransportsecurity.preloadlist", false);
         options.addPreference("security.cert_pinning.enforcement_level", 0);
         options.addPreference("dom.security.https_only_mode", false);
         options.addPreference("services.settings.server", "");
+        if (profile.isLean()) {
+            options.addPreference("extensions.update.enabled", false);
+            options.addPreference("extensions.systemAddon.update.enabled", false);
+            options.addPreference("app.update.auto", false);
+            options.addPreference("browser.search.update", false);
+            options.addPreference("network.prefetch-next", false);
+            options.addPreference("network.dns.disablePrefetch", true);
+            options.addPreference("datareporting.policy.dataSubmissionEnabled", false);
+        }
+        if (profile.isHeadless()) {
+            options.addArguments("-headless");
+        }
+        Dimension viewport = profile.getViewport();
+        if (viewport != null) {
+            options.addArguments("--width=" + viewport.getWidth(), "--height=" + viewport.getHeight());
+        }
+        if (userData != null) {
+            options.addArguments("-profile", userData.toAbsolutePath().toString());
+        }
         options.setAcceptInsecureCerts(true);
         if (firefoxBinary != null && !firefoxBinary.isEmpty()) {
             options.setBinary(firefoxBinary);
         }
-        return new FirefoxDriver(options);
+        return options;
+    }
+
+    // Returns the browser version that wrote the template
+    private static String warmUp(String browser, LaunchProfile profile, String firefoxBinary, Path templateDir) {
+        WebDriver driver = launch(browser, profile, firefoxBinary, templateDir, CLIENT_CONFIG);
+        try {
+            driver.navigate().to("about:blank");
+            return browserVersion(driver);
+        } finally {
+            driver.quit();
+        }
     }
 
     public static WebDriver getDriver() {
@@ -108,13 +332,53 @@ public final class DriverFactory {
         return driver;
     }
 
+    /**
+     * Command-channel counters of the current thread's session. With -DsharedBrowser these are the counters of the
+     * whole browser process, summed over all its contexts; see {@link #isSharedBrowserSession()}.
+     */
+    public static WireMetrics getWireMetrics() {
+        return TL_WIRE.get();
+    }
+
+    public static boolean isSharedBrowserSession() {
+        return TL_CONTEXT.get() != null;
+    }
+
+    public static WireMetrics getWireMetrics(WebDriver driver) {
+        return SESSION_WIRE.get(driver);
+    }
+
     public static void quit() {
         WebDriver driver = TL_DRIVER.get();
+        BrowserContext context = TL_CONTEXT.get();
         if (driver != null) {
             try {
-                driver.quit();
+                if (context != null) {
+                    // Only this journey ends; the shared process lives until quitSharedBrowsers()
+                    context.close();
+                } else {
+                    quit(driver);
+                }
             } finally {
                 TL_DRIVER.remove();
+                TL_CONTEXT.remove();
+                TL_WIRE.remove();
+                DependencyRecorder.clearAmbient();
+            }
+        }
+    }
+
+    public static void quit(WebDriver driver) {
+        try {
+            driver.quit();
+        } finally {
+            UserDataTemplates.deleteRecursively(SESSION_DIRS.remove(driver));
+            WireMetrics wire = SESSION_WIRE.remove(driver);
+            if (wire != null) {
+                SuiteMetrics.add("wire.requests", wire.getRequests());
+                SuiteMetrics.add("wire.bytesSent", wire.getBytesSent());
+                SuiteMetrics.add("wire.bytesReceived", wire.getBytesReceived());
+                SuiteMetrics.add("wire.ms", wire.getWireTime().toMillis());
             }
         }
     }
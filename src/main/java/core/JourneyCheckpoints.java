@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2025 Ece Akkurt Kılıç
+ *
+ * Licensed under the MIT License. You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package core;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import utils.SuiteMetrics;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Shares identical journey prefixes between tests. The first test to reach a named step runs the steps and
+ * captures a {@link Checkpoint}; later tests on the same browser restore it into their session instead.
+ * <p>
+ * A checkpoint is dropped when it is older than -DcheckpointMaxAgeSeconds (default 600) or when the caller's
+ * validation fails after a restore — the steps then run again and re-capture. Cookies that expired since the
+ * capture are skipped on restore.
+ * <p>
+ * Restores go into whichever session the calling test already has; there is no pool of pre-opened sessions.
+ */
+public final class JourneyCheckpoints {
+
+    private static final Duration MAX_AGE = Duration.ofSeconds(Long.getLong("checkpointMaxAgeSeconds", 600));
+
+    private static final String READ_STORAGE =
+            "var s = window[arguments[0]], o = {};" +
+            "for (var i = 0; i < s.length; i++) { var k = s.key(i); o[k] = s.getItem(k); }" +
+            "return o;";
+    private static final String WRITE_STORAGE =
+            "var s = window[arguments[0]], o = arguments[1];" +
+            "s.clear();" +
+            "for (var k in o) { s.setItem(k, o[k]); }";
+
+    private static final Map<String, Checkpoint> CHECKPOINTS = new ConcurrentHashMap<>();
+
+    private JourneyCheckpoints() {}
+
+    /**
+     * Brings the current session to the state after {@code name}, restoring a checkpoint when a fresh one exists.
+     *
+     * @param prefix  the steps that lead to the checkpoint
+     * @param isValid checked after a restore; {@code false} or an exception marks the checkpoint stale
+     */
+    public static void reach(String name, Runnable prefix, BooleanSupplier isValid) {
+        reach(name, false, prefix, isValid);
+    }
+
+    public static void reach(String name, boolean captureDom, Runnable prefix, BooleanSupplier isValid) {
+        WebDriver driver = DriverFactory.getDriver();
+        String key = key(driver, name);
+        Checkpoint checkpoint = CHECKPOINTS.get(key);
+
+        if (checkpoint != null && checkpoint.isStale(MAX_AGE)) {
+            invalidate(key, checkpoint);
+            checkpoint = null;
+        }
+        if (checkpoint != null) {
+            long start = System.nanoTime();
+            if (restore(driver, checkpoint) && validate(isValid)) {
+                long restoreMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+                SuiteMetrics.increment("checkpoint.hits");
+                SuiteMetrics.add("checkpoint.savedMs", Math.max(0, checkpoint.getPrefixDuration().toMillis() - restoreMs));
+                return;
+            }
+            invalidate(key, checkpoint);
+        }
+
+        SuiteMetrics.increment("checkpoint.misses");
+        record(name, captureDom, prefix);
+    }
+
+    /** Always runs {@code prefix} (e.g. in the test that verifies the journey itself) and captures the result. */
+    public static void record(String name, boolean captureDom, Runnable prefix) {
+        long start = System.nanoTime();
+        prefix.run();
+        Duration took = Duration.ofNanos(System.nanoTime() - start);
+        WebDriver driver = DriverFactory.getDriver();
+        CHECKPOINTS.put(key(driver, name), capture(driver, name, captureDom, took));
+    }
+
+    public static void invalidate(String name) {
+        CHECKPOINTS.keySet().removeIf(key -> key.endsWith(":" + name));
+    }
+
+    public static void invalidateAll() {
+        CHECKPOINTS.clear();
+    }
+
+    private static Checkpoint capture(WebDriver driver, String name, boolean captureDom, Duration took) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        String dom = captureDom ? (String) js.executeScript("return document.documentElement.outerHTML") : null;
+        return new Checkpoint(name, browserOf(driver), driver.getCurrentUrl(), driver.manage().getCookies(),
+                readStorage(js, "localStorage"), readStorage(js, "sessionStorage"), dom, took);
+    }
+
+    private static boolean restore(WebDriver driver, Checkpoint checkpoint) {
+        try {
+            // Cookies and storage can only be written from a document of the same origin
+            URI url = URI.create(checkpoint.getUrl());
+            driver.navigate().to(url.getScheme() + "://" + url.getAuthority() + "/robots.txt");
+            driver.manage().deleteAllCookies();
+            Date now = new Date();
+            for (Cookie cookie : checkpoint.getCookies()) {
+                if (cookie.getExpiry() != null && cookie.getExpiry().before(now)) {
+                    continue;
+                }
+                try {
+                    driver.manage().addCookie(cookie);
+                } catch (WebDriverException ignored) {
+                    // Cookie of another domain (e.g. a third-party widget) — not needed to restore the page
+                }
+            }
+            JavascriptExecutor js = (JavascriptExecutor) driver;
+            js.executeScript(WRITE_STORAGE, "localStorage", checkpoint.getLocalStorage());
+            js.executeScript(WRITE_STORAGE, "sessionStorage", checkpoint.getSessionStorage());
+            driver.navigate().to(checkpoint.getUrl());
+            if (checkpoint.getDom() != null) {
+                js.executeScript("document.open(); document.write(arguments[0]); document.close();", checkpoint.getDom());
+            }
+            return true;
+        } catch (WebDriverException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean validate(BooleanSupplier isValid) {
+        try {
+            return isValid.getAsBoolean();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static void invalidate(String key, Checkpoint checkpoint) {
+        CHECKPOINTS.remove(key, checkpoint);
+        SuiteMetrics.increment("checkpoint.stale");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> readStorage(JavascriptExecutor js, String area) {
+        Object values = js.executeScript(READ_STORAGE, area);
+        Map<String, String> storage = new HashMap<>();
+        if (values instanceof Map) {
+            ((Map<String, Object>) values).forEach((k, v) -> storage.put(k, String.valueOf(v)));
+        }
+        return storage;
+    }
+
+    private static String key(WebDriver driver, String name) {
+        return browserOf(driver) + ":" + name;
+    }
+
+    private static String browserOf(WebDriver driver) {
+        return driver instanceof HasCapabilities
+                ? ((HasCapabilities) driver).getCapabilities().getBrowserName()
+                : driver.getClass().getSimpleName();
+    }
+}
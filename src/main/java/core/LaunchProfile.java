@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2025 Ece Akkurt Kılıç
+ *
+ * Licensed under the MIT License. You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package core;
+
+import org.openqa.selenium.Dimension;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Named browser launch profiles, selected via -DlaunchProfile=&lt;id&gt;.
+ */
+public enum LaunchProfile {
+
+    // Matches the historical flags: maximized window, headless only via -Dheadless=true
+    DEFAULT("default", false, false, false, null, false),
+
+    // chrome-headless-shell (full headless Chrome if none is found), no background services, fixed viewport, pre-warmed user data
+    FAST_HEADLESS("fast-headless", true, true, true, new Dimension(1920, 1080), true),
+
+    // Visible browser with a predictable window size; no template, so each session gets the driver's fresh temp profile
+    DEBUG_HEADED("debug-headed", false, false, false, new Dimension(1600, 1000), false);
+
+    public static final String PROPERTY = "launchProfile";
+
+    private final String id;
+    private final boolean headless;
+    private final boolean headlessShell;
+    private final boolean lean;
+    private final Dimension viewport;
+    private final boolean reuseUserData;
+
+    LaunchProfile(String id, boolean headless, boolean headlessShell, boolean lean,
+                  Dimension viewport, boolean reuseUserData) {
+        this.id = id;
+        this.headless = headless;
+        this.headlessShell = headlessShell;
+        this.lean = lean;
+        this.viewport = viewport;
+        this.reuseUserData = reuseUserData;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /** -Dheadless=true only applies to {@link #DEFAULT}; the other profiles fix their own mode. */
+    public boolean isHeadless() {
+        return headless || (this == DEFAULT && Boolean.getBoolean("headless"));
+    }
+
+    public boolean isHeadlessShell() {
+        return headlessShell;
+    }
+
+    /** Disables extensions, background networking and component updates. */
+    public boolean isLean() {
+        return lean;
+    }
+
+    /** Fixed window size, or {@code null} to maximize the window instead. */
+    public Dimension getViewport() {
+        return viewport;
+    }
+
+    /** Whether sessions start from a copy of a pre-warmed user data dir template. */
+    public boolean isReuseUserData() {
+        return reuseUserData;
+    }
+
+    public static LaunchProfile fromSystemProperty() {
+        return fromId(System.getProperty(PROPERTY));
+    }
+
+    public static LaunchProfile fromId(String id) {
+        if (id == null || id.isBlank()) {
+            return DEFAULT;
+        }
+        for (LaunchProfile profile : values()) {
+            if (profile.id.equalsIgnoreCase(id.trim())) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown launch profile '" + id + "'. Expected one of: " +
+                Arrays.stream(values()).map(LaunchProfile::getId).collect(Collectors.joining(", ")));
+    }
+}
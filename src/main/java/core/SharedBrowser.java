@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2025 Ece Akkurt Kılıç
+ *
+ * Licensed under the MIT License. You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package core;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.chromium.ChromiumDriver;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One Chromium process shared by several {@link BrowserContext}s, each a CDP browser context.
+ * WebDriver serves one window at a time, so every command takes the lock and activates its context's window
+ * (and the frame it was in) first.
+ * <p>
+ * The lock is held for the whole command, page loads and async scripts included, so parallel journeys on one
+ * shared browser run one command at a time. Sharing saves process start-up and memory, not command time.
+ * <p>
+ * Only Chromium is supported: without browser contexts there is no reliable way to tell which journey opened
+ * a new tab, so parallel journeys could take each other's windows.
+ */
+final class SharedBrowser {
+
+    interface Invocation {
+        Object run() throws Exception;
+    }
+
+    private final String browser;
+    private final ChromiumDriver driver;
+    private final Dimension viewport;
+    private final ReentrantLock lock = new ReentrantLock();
+    // The initial blank tab stays open so closing the last context never ends the session
+    private final String anchorHandle;
+    private final Set<BrowserContext> contexts = ConcurrentHashMap.newKeySet();
+    private String activeHandle;
+
+    SharedBrowser(String browser, ChromiumDriver driver, LaunchProfile profile) {
+        this.browser = browser;
+        this.driver = driver;
+        this.viewport = profile.getViewport();
+        this.anchorHandle = driver.getWindowHandle();
+        this.activeHandle = anchorHandle;
+    }
+
+    String getBrowser() {
+        return browser;
+    }
+
+    WebDriver driver() {
+        return driver;
+    }
+
+    BrowserContext openContext() {
+        lock.lock();
+        try {
+            BrowserContext context = openIsolated();
+            if (context == null) {
+                throw new IllegalStateException("This " + browser + " build cannot drive CDP browser contexts");
+            }
+            contexts.add(context);
+            return context;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // A CDP browser context is an incognito-like partition with its own cookies, storage and cache
+    private BrowserContext openIsolated() {
+        String contextId = null;
+        try {
+            Map<String, Object> created = driver.executeCdpCommand("Target.createBrowserContext",
+                    Map.of("disposeOnDetach", false));
+            contextId = (String) created.get("browserContextId");
+            Map<String, Object> target = driver.executeCdpCommand("Target.createTarget",
+                    Map.of("url", "about:blank", "browserContextId", contextId));
+            String handle = (String) target.get("targetId");
+            // chromedriver uses target ids as window handles; anything else means we cannot drive it
+            if (!driver.getWindowHandles().contains(handle)) {
+                disposeQuietly(driver, contextId);
+                return null;
+            }
+            sizeWindow(handle);
+            return new BrowserContext(this, handle, contextId);
+        } catch (WebDriverException e) {
+            disposeQuietly(driver, contextId);
+            return null;
+        }
+    }
+
+    Object call(BrowserContext context, Invocation invocation) throws Throwable {
+        lock.lock();
+        try {
+            activate(context);
+            return invocation.run();
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Set<String> windowHandles(BrowserContext context) {
+        lock.lock();
+        try {
+            // Tabs opened from a context's pages stay in that browser context, so ownership is exact
+            Set<String> owned = context.ownedHandles();
+            owned.clear();
+            owned.addAll(targetsOf(context.getBrowserContextId()));
+            owned.retainAll(driver.getWindowHandles());
+            return new LinkedHashSet<>(owned);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void switchWithin(BrowserContext context, String handle) {
+        lock.lock();
+        try {
+            if (!windowHandles(context).contains(handle)) {
+                throw new WebDriverException("Window " + handle + " does not belong to " + context);
+            }
+            // Like a plain switchTo().window(), even to the current window, this lands on the top-level document
+            context.framePath().clear();
+            context.setCurrentHandle(handle);
+            activeHandle = null;
+            activate(context);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void newWindow(BrowserContext context, WindowType type) {
+        lock.lock();
+        try {
+            Map<String, Object> params = new HashMap<>();
+            params.put("url", "about:blank");
+            params.put("browserContextId", context.getBrowserContextId());
+            params.put("newWindow", type == WindowType.WINDOW);
+            String handle = (String) driver.executeCdpCommand("Target.createTarget", params).get("targetId");
+            context.ownedHandles().add(handle);
+            context.setCurrentHandle(handle);
+            sizeWindow(handle);
+            activate(context);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Closes the context's current window, or the whole context when it is the last one. */
+    void closeWindow(BrowserContext context) {
+        lock.lock();
+        try {
+            Set<String> owned = windowHandles(context);
+            if (owned.size() <= 1) {
+                close(context);
+                return;
+            }
+            activate(context);
+            driver.close();
+            owned.remove(context.getCurrentHandle());
+            context.ownedHandles().remove(context.getCurrentHandle());
+            context.setCurrentHandle(owned.iterator().next());
+            activeHandle = null;
+            activate(context);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void close(BrowserContext context) {
+        lock.lock();
+        try {
+            if (!contexts.remove(context)) {
+                return;
+            }
+            disposeQuietly(driver, context.getBrowserContextId());
+            driver.switchTo().window(anchorHandle);
+            activeHandle = anchorHandle;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void quit() {
+        lock.lock();
+        try {
+            contexts.clear();
+            DriverFactory.quit(driver);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void activate(BrowserContext context) {
+        String handle = context.getCurrentHandle();
+        if (!handle.equals(activeHandle)) {
+            driver.switchTo().window(handle);
+            activeHandle = handle;
+            for (Object frame : context.framePath()) {
+                if (frame instanceof Integer) {
+                    driver.switchTo().frame((Integer) frame);
+                } else if (frame instanceof String) {
+                    driver.switchTo().frame((String) frame);
+                } else {
+                    driver.switchTo().frame((WebElement) frame);
+                }
+            }
+        }
+    }
+
+    // Context windows are new top-level windows, so they get the profile's viewport like a dedicated session
+    private void sizeWindow(String handle) {
+        try {
+            driver.switchTo().window(handle);
+            activeHandle = handle;
+            if (viewport != null) {
+                driver.manage().window().setSize(viewport);
+            } else {
+                driver.manage().window().maximize();
+            }
+        } catch (WebDriverException ignored) {
+            // Headless windows may refuse maximize(); they already use the launch --window-size
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> targetsOf(String contextId) {
+        Set<String> handles = new LinkedHashSet<>();
+        Map<String, Object> result = driver.executeCdpCommand("Target.getTargets", Map.of());
+        for (Map<String, Object> info : (List<Map<String, Object>>) result.get("targetInfos")) {
+            if ("page".equals(info.get("type")) && contextId.equals(info.get("browserContextId"))) {
+                handles.add((String) info.get("targetId"));
+            }
+        }
+        return handles;
+    }
+
+    private static void disposeQuietly(ChromiumDriver chromium, String contextId) {
+        if (contextId == null) return;
+        try {
+            chromium.executeCdpCommand("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+        } catch (WebDriverException ignored) {
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2025 Ece Akkurt Kılıç
+ *
+ * Licensed under the MIT License. You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Keeps one pre-warmed user data dir per (browser, profile) and hands out throwaway copies of it,
+ * so first-run work (profile creation, component registration) is paid once instead of per session.
+ * The ready marker holds the browser version that wrote the template; a session on another version
+ * (e.g. after a browser upgrade) makes the factory re-create it.
+ */
+final class UserDataTemplates {
+
+    private static final String READY_MARKER = ".template-ready";
+
+    // Caches and lock files are session-specific and only slow the copy down
+    private static final Set<String> SKIPPED = Set.of(
+            "Cache", "Code Cache", "GPUCache", "ShaderCache", "GrShaderCache", "Crashpad",
+            "SingletonLock", "SingletonSocket", "SingletonCookie", "lock", ".parentlock", "parent.lock",
+            "cache2", "startupCache", READY_MARKER);
+
+    private UserDataTemplates() {}
+
+    static Path root() {
+        String custom = System.getProperty("userDataTemplateDir");
+        return (custom == null || custom.isEmpty())
+                ? Paths.get("target", "browser-templates")
+                : Paths.get(custom);
+    }
+
+    static Path templateDir(String browser, LaunchProfile profile) {
+        return root().resolve(browser + "-" + profile.getId()).toAbsolutePath();
+    }
+
+    /**
+     * Returns the template dir, launching the browser once through {@code warmUp} if it is not ready yet.
+     * {@code warmUp} returns the browser version, which is kept in the ready marker.
+     * Synchronized so parallel tests do not warm the same template twice.
+     */
+    static synchronized Path ensure(String browser, LaunchProfile profile, Function<Path, String> warmUp) {
+        Path template = templateDir(browser, profile);
+        if (Files.exists(template.resolve(READY_MARKER))) {
+            return template;
+        }
+        try {
+            deleteRecursively(template);
+            Files.createDirectories(template);
+            String version = warmUp.apply(template);
+            Files.write(template.resolve(READY_MARKER), String.valueOf(version).getBytes(StandardCharsets.UTF_8));
+            return template;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not prepare user data template " + template, e);
+        }
+    }
+
+    static synchronized void reset(String browser, LaunchProfile profile) {
+        deleteRecursively(templateDir(browser, profile));
+    }
+
+    /** Whether the template was written by {@code browserVersion}; markers without a version never match. */
+    static boolean isCurrent(Path template, String browserVersion) {
+        try {
+            String written = new String(Files.readAllBytes(template.resolve(READY_MARKER)), StandardCharsets.UTF_8).trim();
+            return !written.isEmpty() && written.equals(browserVersion);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /** Drops the template unless a parallel session already re-created it for {@code browserVersion}. */
+    static synchronized void invalidate(String browser, LaunchProfile profile, String browserVersion) {
+        Path template = templateDir(browser, profile);
+        if (!isCurrent(template, browserVersion)) {
+            deleteRecursively(template);
+        }
+    }
+
+    /** Copies the template into a fresh temp dir owned by a single session. */
+    static Path copyForSession(Path template) {
+        try {
+            Path target = Files.createTempDirectory("user-data-");
+            Files.walkFileTree(template, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    if (!dir.equals(template) && SKIPPED.contains(dir.getFileName().toString())) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    Files.createDirectories(target.resolve(template.relativize(dir).toString()));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if (!SKIPPED.contains(file.getFileName().toString()) && attrs.isRegularFile()) {
+                        Files.copy(file, target.resolve(template.relativize(file).toString()),
+                                StandardCopyOption.COPY_ATTRIBUTES, LinkOption.NOFOLLOW_LINKS);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not copy user data template " + template, e);
+        }
+    }
+
+    static void deleteRecursively(Path dir) {
+        if (dir == null || !Files.exists(dir, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try {
+                    Files.deleteIfExists(p);
+                } catch (IOException ignored) {
+                    // Best effort — a locked file must not fail the test run
+                }
+            });
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2025 Ece Akkurt Kılıç
+ *
+ * Licensed under the MIT License. You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package core;
+
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMessage;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-session counters for the WebDriver command channel, installed as a {@link Filter} on the driver's HTTP client.
+ * <p>
+ * Only what passes through the filter is measured: requests, bytes and time on the wire. Connection reuse is
+ * not measured, since Selenium's HTTP client exposes no socket events.
+ */
+public final class WireMetrics implements Filter {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    @Override
+    public HttpHandler apply(HttpHandler next) {
+        return request -> {
+            long start = System.nanoTime();
+            bytesSent.add(contentLength(request));
+            HttpResponse response = next.execute(request);
+            nanos.add(System.nanoTime() - start);
+            requests.increment();
+            bytesReceived.add(contentLength(response));
+            return response;
+        };
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    public Duration getWireTime() {
+        return Duration.ofNanos(nanos.sum());
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "requests=%d sent=%dB received=%dB wire=%dms",
+                getRequests(), getBytesSent(), getBytesReceived(), getWireTime().toMillis());
+    }
+
+    private static long contentLength(HttpMessage<?> message) {
+        String header = message.getHeader("Content-Length");
+        if (header != null) {
+            try {
+                return Long.parseLong(header.trim());
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        // Command payloads are small in-memory JSON; buffer once and put the bytes back
+        byte[] content = Contents.bytes(message.getContent());
+        message.setContent(Contents.bytes(content));
+        return content.length;
+    }
+}
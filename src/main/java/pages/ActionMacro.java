@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2025 Ece Akkurt Kılıç
+ *
+ * Licensed under the MIT License. You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package pages;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.SuiteMetrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A sequence of interactions compiled into as few WebDriver round trips as possible.
+ * Consecutive in-page steps run inside one async script; only hovers and native clicks, which need real
+ * input events, and URL waits, which outlive the page's script context, go through WebDriver directly.
+ * A segment always ends after an in-script click, since a click that navigates discards the running script.
+ * Obtain one from {@link BasePage#macro(String)}.
+ */
+public final class ActionMacro {
+
+    private enum Kind {
+        // in-script steps; nativeCost = estimated round trips of the equivalent WebDriver calls when the
+        // element is ready on the first poll, not a measured baseline
+        SCROLL("scroll", 1), CLICKABLE("clickable", 2), CLICK("click", 1), VISIBLE("visible", 1), SELECTOR("selector", 2),
+        // WebDriver steps
+        HOVER(null, 1), NATIVE_CLICK(null, 1), URL_CONTAINS(null, 1), URL_CHANGE(null, 2);
+
+        final String script;
+        final int nativeCost;
+
+        Kind(String script, int nativeCost) {
+            this.script = script;
+            this.nativeCost = nativeCost;
+        }
+    }
+
+    private static final class Step {
+        final Kind kind;
+        final WebElement element;
+        final String arg;
+        final Duration pause;
+
+        Step(Kind kind, WebElement element, String arg, Duration pause) {
+            this.kind = kind;
+            this.element = element;
+            this.arg = arg;
+            this.pause = pause;
+        }
+    }
+
+    private static final String SCRIPT =
+            "var done = arguments[arguments.length - 1];" +
+            "var els = arguments[0], steps = arguments[1], deadline = Date.now() + arguments[2], pollMs = arguments[3];" +
+            "var href = location.href;" +
+            "function visible(el) {" +
+            "  if (!el) return false;" +
+            "  var s = window.getComputedStyle(el);" +
+            "  return s.visibility !== 'hidden' && s.display !== 'none'" +
+            "      && !!(el.offsetWidth || el.offsetHeight || el.getClientRects().length);" +
+            "}" +
+            "function ready(step) {" +
+            "  switch (step[0]) {" +
+            "    case 'visible': return visible(els[step[1]]);" +
+            "    case 'clickable': return visible(els[step[1]]) && !els[step[1]].disabled;" +
+            "    case 'selector': return visible(document.querySelector(step[1]));" +
+            "  }" +
+            "  return true;" +
+            "}" +
+            "function act(step) {" +
+            "  if (step[0] === 'scroll') els[step[1]].scrollIntoView({block: 'center'});" +
+            "  if (step[0] === 'click') els[step[1]].click();" +
+            "}" +
+            "function run(i) {" +
+            "  try {" +
+            "    for (; i < steps.length; i++) {" +
+            "      if (!ready(steps[i])) {" +
+            "        if (Date.now() > deadline) return done({ok: false, step: i, href: href});" +
+            "        return setTimeout(function () { run(i); }, pollMs);" +
+            "      }" +
+            "      act(steps[i]);" +
+            "    }" +
+            "    done({ok: true, href: href});" +
+            "  } catch (e) {" +
+            "    done({ok: false, step: i, href: href, error: String(e && e.message || e)});" +
+            "  }" +
+            "}" +
+            "run(0);";
+
+    private final String name;
+    private final WebDriver driver;
+    private final Duration timeout;
+    private final Duration pollInterval;
+    private final List<Step> steps = new ArrayList<>();
+    private String segmentHref;
+
+    ActionMacro(String name, WebDriver driver, Duration timeout, Duration pollInterval) {
+        this.name = name;
+        this.driver = driver;
+        this.timeout = timeout;
+        this.pollInterval = pollInterval;
+    }
+
+    public ActionMacro scrollIntoView(WebElement element) {
+        return add(Kind.SCROLL, element, null, null);
+    }
+
+    /** Waits until the element is displayed and enabled, like {@code ExpectedConditions.elementToBeClickable}. */
+    public ActionMacro requireClickable(WebElement element) {
+        return add(Kind.CLICKABLE, element, null, null);
+    }
+
+    /** DOM click from inside the page; use {@link #nativeClick} when the page needs real pointer events. Ends the segment. */
+    public ActionMacro click(WebElement element) {
+        return add(Kind.CLICK, element, null, null);
+    }
+
+    public ActionMacro waitVisible(WebElement element) {
+        return add(Kind.VISIBLE, element, null, null);
+    }
+
+    public ActionMacro waitForSelector(String cssSelector) {
+        return add(Kind.SELECTOR, null, cssSelector, null);
+    }
+
+    public ActionMacro hover(WebElement element, Duration pause) {
+        return add(Kind.HOVER, element, null, pause);
+    }
+
+    /** WebDriver click like {@code BasePage.safeClick}: one retry on a stale element, then a JS click. */
+    public ActionMacro nativeClick(WebElement element) {
+        return add(Kind.NATIVE_CLICK, element, null, null);
+    }
+
+    public ActionMacro waitForUrlContains(String fragment) {
+        return add(Kind.URL_CONTAINS, null, fragment, null);
+    }
+
+    public ActionMacro waitForUrlChange() {
+        return add(Kind.URL_CHANGE, null, null, null);
+    }
+
+    public void run() {
+        int issued = 0;
+        int nativeCost = 0;
+        String lastHref = null;
+        List<Step> segment = new ArrayList<>();
+
+        for (Step step : steps) {
+            nativeCost += step.kind.nativeCost;
+            if (step.kind.script != null) {
+                segment.add(step);
+                if (step.kind == Kind.CLICK) {
+                    issued += runSegment(segment);
+                    lastHref = segmentHref;
+                    segment.clear();
+                }
+                continue;
+            }
+            if (!segment.isEmpty()) {
+                issued += runSegment(segment);
+                lastHref = segmentHref;
+                segment.clear();
+            }
+            switch (step.kind) {
+                case HOVER:
+                    new Actions(driver).moveToElement(step.element).pause(step.pause).perform();
+                    issued++;
+                    break;
+                case NATIVE_CLICK:
+                    issued += nativeClick(step.element);
+                    break;
+                case URL_CHANGE:
+                    if (lastHref == null) {
+                        lastHref = driver.getCurrentUrl();
+                        issued++;
+                    }
+                    issued += waitForUrl(step, lastHref);
+                    break;
+                default:
+                    issued += waitForUrl(step, lastHref);
+                    break;
+            }
+        }
+        if (!segment.isEmpty()) {
+            issued += runSegment(segment);
+        }
+
+        // The native side is the nativeCost estimate above, so the saving is labelled as one
+        SuiteMetrics.add("macro." + name + ".commands", issued);
+        SuiteMetrics.add("macro." + name + ".nativeCommandsEstimate", nativeCost);
+        SuiteMetrics.add("macro.commandsSavedEstimate", Math.max(0, nativeCost - issued));
+    }
+
+    private ActionMacro add(Kind kind, WebElement element, String arg, Duration pause) {
+        steps.add(new Step(kind, element, arg, pause));
+        return this;
+    }
+
+    // Returns the number of WebDriver calls it took; the page URL it started on is left in segmentHref
+    @SuppressWarnings("unchecked")
+    private int runSegment(List<Step> segment) {
+        List<WebElement> elements = new ArrayList<>();
+        List<List<Object>> encoded = new ArrayList<>();
+        for (Step step : segment) {
+            if (step.element != null) {
+                elements.add(step.element);
+                encoded.add(Arrays.asList(step.kind.script, elements.size() - 1));
+            } else {
+                encoded.add(Arrays.asList(step.kind.script, step.arg));
+            }
+        }
+        // Every PageFactory or hydrated proxy is looked up while the arguments are serialized
+        int lookups = (int) elements.stream().filter(e -> e instanceof WrapsElement).count();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        int calls = 0;
+        Map<String, Object> result;
+        while (true) {
+            calls += 1 + lookups;
+            long remainingMs = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            try {
+                result = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(SCRIPT,
+                        elements, encoded, remainingMs, pollInterval.toMillis());
+                break;
+            } catch (NotFoundException e) {
+                // Not attached yet: the lookup fails before the script's own wait can start, so poll here
+                // like WebDriverWait ignoring NotFoundException
+                if (System.nanoTime() >= deadline) {
+                    throw new TimeoutException("Macro '" + name + "' could not find an element within " + timeout, e);
+                }
+                sleep(pollInterval);
+            }
+        }
+        if (!Boolean.TRUE.equals(result.get("ok"))) {
+            int failed = ((Number) result.get("step")).intValue();
+            Object error = result.get("error");
+            throw new TimeoutException("Macro '" + name + "' stopped at step " + failed + " ("
+                    + segment.get(failed).kind.script + ")" + (error == null ? "" : ": " + error));
+        }
+        segmentHref = (String) result.get("href");
+        return calls;
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting for an element", e);
+        }
+    }
+
+    // Returns the number of WebDriver calls it took
+    private int nativeClick(WebElement element) {
+        try {
+            element.click();
+            return 1;
+        } catch (StaleElementReferenceException stale) {
+            // PageFactory proxies look the element up again on the next call
+            try {
+                element.click();
+                return 2;
+            } catch (WebDriverException retry) {
+                jsClick(element);
+                return 3;
+            }
+        } catch (WebDriverException e) {
+            // Intercepted or not interactable — same fallback as BasePage.safeClick
+            jsClick(element);
+            return 2;
+        }
+    }
+
+    private void jsClick(WebElement element) {
+        ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
+    }
+
+    // Returns the number of polls it took
+    private int waitForUrl(Step step, String before) {
+        int[] polls = {0};
+        new WebDriverWait(driver, timeout, pollInterval).until(d -> {
+            polls[0]++;
+            String current = d.getCurrentUrl();
+            return step.kind == Kind.URL_CHANGE ? !current.equals(before) : current.contains(step.arg);
+        });
+        return polls[0];
+    }
+}
@@ -26,26 +26,38 @@
 
 package pages;
 
+import core.DependencyRecorder;
 import core.DriverFactory;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import utils.Constants;
+import utils.SuiteMetrics;
 import utils.enums.ScrollAmount;
 import utils.enums.ScrollDirection;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 public class BasePage {
 
     // ---- Timing & wait configuration ----
     protected static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
     protected static final Duration POLL_INTERVAL = Duration.ofMillis(250);
+    // Extra time an optional element gets once the document is complete (late banners, lazy widgets)
+    protected static final Duration OPTIONAL_GRACE = Duration.ofMillis(1500);
 
     protected WebDriverWait wait;
 
+    // Bound once, so a page keeps talking to the browser context it was opened in
+    private final WebDriver driver;
+
     public BasePage() {
+        DependencyRecorder.recordPage(getClass());
+        this.driver = DriverFactory.getDriver();
         this.wait = new WebDriverWait(getDriver(), DEFAULT_TIMEOUT);
         // Make waits more resilient to DOM churn
         this.wait.pollingEvery(POLL_INTERVAL).ignoring(StaleElementReferenceException.class);
@@ -53,7 +65,7 @@ public class BasePage {
     }
 
     public WebDriver getDriver() {
-        return DriverFactory.getDriver();
+        return driver;
     }
 
     public String getPageTitle() {
@@ -63,31 +75,112 @@ public class BasePage {
     // ---- Generic waits ----
     public WebElement waitForElementVisible(String classText, String elementText) {
         return wait.until(ExpectedConditions
-                .visibilityOfElementLocated(By.xpath(generateXPath(classText, elementText))));
+                .visibilityOfElementLocated(textLocator(classText, elementText)));
     }
 
     public WebElement waitForElementClickable(String classText, String elementText) {
         return wait.until(ExpectedConditions
-                .elementToBeClickable(By.xpath(generateXPath(classText, elementText))));
+                .elementToBeClickable(textLocator(classText, elementText)));
     }
 
     public WebElement waitForElementVisible(WebElement element) {
         return wait.until(ExpectedConditions.visibilityOf(element));
     }
 
-    // ---- Page helpers ----
-    public void acceptCookies() {
+    // ---- Locator validation ----
+
+    /**
+     * Polls the batch call until all named fields are in the DOM. On timeout the full locator report
+     * is printed and {@code false} returned, so callers can fail with their own message.
+     */
+    protected boolean awaitLocators(String... names) {
+        return awaitBatch(report -> report.missing(names).isEmpty(), "Missing " + Arrays.toString(names));
+    }
+
+    /**
+     * Polls the batch call until one of the named fields is visible; a single wait covers all of them.
+     */
+    protected boolean awaitAnyVisible(String... names) {
+        return awaitBatch(report -> report.anyVisible(names), "None visible of " + Arrays.toString(names));
+    }
+
+    private boolean awaitBatch(Predicate<LocatorReport> done, String failure) {
+        waitForDocumentReady();
+        LocatorReport[] last = new LocatorReport[1];
+        boolean satisfied;
         try {
-            waitForElementClickable(Constants.A, Constants.ACCEPT).click();
-        } catch (TimeoutException | NoSuchElementException ignored) {
-            // Cookie banner not present — continue silently
+            wait.until(driver -> {
+                last[0] = LocatorBatch.resolve(getDriver(), this);
+                return done.test(last[0]);
+            });
+            satisfied = true;
+        } catch (TimeoutException e) {
+            satisfied = false;
+        }
+        if (last[0] == null) {
+            return false;
+        }
+        LocatorBatch.hydrate(this, last[0], getDriver());
+        if (!satisfied) {
+            System.out.println(failure + " after " + DEFAULT_TIMEOUT.getSeconds() + " s\n" + last[0].format());
+        }
+        return satisfied;
+    }
+
+    protected void waitForDocumentReady() {
+        try {
+            wait.until(driver -> "complete".equals(
+                    ((JavascriptExecutor) driver).executeScript("return document.readyState")));
+        } catch (TimeoutException ignored) {
+            // Slow third-party resources; the locator checks below still run against what is there
         }
     }
 
+    // ---- Optional elements ----
+
+    /**
+     * Probes for an element that may legitimately be absent: waits for the document to be ready,
+     * then gives the element only {@link #OPTIONAL_GRACE} instead of the full {@link #DEFAULT_TIMEOUT}.
+     */
+    protected Optional<WebElement> findOptional(By by) {
+        return findOptional(by, OPTIONAL_GRACE);
+    }
+
+    protected Optional<WebElement> findOptional(By by, Duration grace) {
+        long start = System.nanoTime();
+        waitForDocumentReady();
+        WebDriverWait probe = new WebDriverWait(getDriver(), grace, POLL_INTERVAL);
+        probe.ignoring(StaleElementReferenceException.class);
+        WebElement found = null;
+        try {
+            found = probe.until(driver -> driver.findElements(by).stream()
+                    .filter(WebElement::isDisplayed)
+                    .findFirst()
+                    .orElse(null));
+        } catch (TimeoutException ignored) {
+            // Absent — that is an answer, not a failure
+        }
+
+        SuiteMetrics.increment("optional.probes");
+        if (found == null) {
+            long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+            SuiteMetrics.increment("optional.absent");
+            SuiteMetrics.add("optional.savedMs", Math.max(0, DEFAULT_TIMEOUT.toMillis() - elapsedMs));
+        }
+        return Optional.ofNullable(found);
+    }
+
+    // ---- Page helpers ----
+    public void acceptCookies() {
+        // Cookie banner not present (consent already given) — continue silently
+        findOptional(textLocator(Constants.A, Constants.ACCEPT)).ifPresent(this::safeClick);
+    }
+
     public boolean isCorrectPageOpened(String text) {
         return getDriver().getCurrentUrl().contains(text);
     }
 
+    // Required checks keep the full timeout; only elements that may be absent go through findOptional
     public boolean isElementVisible(String path, String text) {
         try {
             return waitForElementVisible(path, text).isDisplayed();
@@ -114,6 +207,13 @@ public class BasePage {
         }
     }
 
+    /**
+     * Starts an action macro; steps run in as few round trips as possible and the saving is recorded per name.
+     */
+    protected ActionMacro macro(String name) {
+        return new ActionMacro(name, getDriver(), DEFAULT_TIMEOUT, POLL_INTERVAL);
+    }
+
     private void jsClick(WebElement el) {
         ((JavascriptExecutor) getDriver()).executeScript("arguments[0].click();", el);
     }
@@ -135,36 +235,15 @@ public class BasePage {
 
     // ---- Utilities ----
     public String generateXPath(String classText, String elementText) {
-        return String.format("//%s[contains(text(),%s)]", classText, toXPathTextLiteral(elementText));
-    }
-
-    // Safely wraps arbitrary text as an XPath literal (handles quotes).
-    private String toXPathTextLiteral(String text) {
-        if (text == null) return "''"; // empty string literal
-        if (!text.contains("'")) return "'" + text + "'";
-        if (!text.contains("\"")) return '"' + text + '"';
-        // Contains both single and double quotes: build concat('a',"'",'b',...)
-        StringBuilder sb = new StringBuilder("concat(");
-        String remaining = text;
-        boolean first = true;
-        while (!remaining.isEmpty()) {
-            int i = remaining.indexOf('\'');
-            String part = (i == -1) ? remaining : remaining.substring(0, i);
-            if (!part.isEmpty()) {
-                if (!first) sb.append(",");
-                sb.append("'").append(part).append("'");
-                first = false;
-            }
-            if (i != -1) {
-                if (!first) sb.append(",");
-                sb.append("\"'\""); // literal single-quote
-                first = false;
-                remaining = remaining.substring(i + 1);
-            } else {
-                remaining = "";
-            }
-        }
-        sb.append(")");
-        return sb.toString();
+        DependencyRecorder.recordConstant(classText);
+        DependencyRecorder.recordConstant(elementText);
+        return Locators.xpath(classText, elementText);
+    }
+
+    // Interned //tag[contains(text(), ...)] locator; built and escaped once per (tag, text)
+    protected By textLocator(String classText, String elementText) {
+        DependencyRecorder.recordConstant(classText);
+        DependencyRecorder.recordConstant(elementText);
+        return Locators.of(classText, elementText, Locators.Strategy.CONTAINS_TEXT);
     }
-}
\ No newline at end of file
+}
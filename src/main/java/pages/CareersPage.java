@@ -26,7 +26,6 @@
 
 package pages;
 
-import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -45,16 +44,8 @@ public class CareersPage extends BasePage {
     private WebElement blockLifeAtInsider;
 
     public boolean isOpened() {
-        try {
-            wait.until(ExpectedConditions.or(
-                    ExpectedConditions.visibilityOf(blockLocations),
-                    ExpectedConditions.visibilityOf(blockTeams),
-                    ExpectedConditions.visibilityOf(blockLifeAtInsider)
-            ));
-            return true;
-        } catch (TimeoutException e) {
-            return isVisible(blockLocations) || isVisible(blockTeams) || isVisible(blockLifeAtInsider);
-        }
+        // One script call per poll covers all three blocks, so a missing page costs one timeout, not two
+        return awaitAnyVisible("blockLocations", "blockTeams", "blockLifeAtInsider");
     }
 
     public void openQACategory() {
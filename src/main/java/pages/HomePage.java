@@ -27,9 +27,7 @@
 package pages;
 
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import utils.Constants;
 
 import java.time.Duration;
@@ -51,23 +49,26 @@ public class HomePage extends BasePage {
     }
 
     public boolean isOpened() {
+        if (!awaitLocators("navbarCompany", "menuCareers")) {
+            return false;
+        }
         String actualTitle = getPageTitle();
         return actualTitle.contains(Constants.NAME);
     }
 
     public void openCareersFromCompanyMenu() {
-        Actions actions = new Actions(getDriver());
-
-        WebElement company = waitForElementVisible(navbarCompany);
-        scrollIntoView(company);
-        actions.moveToElement(company).pause(HOVER_PAUSE).perform();
-        safeClick(company);
-
-        WebElement careers = waitForElementVisible(menuCareers);
-        actions.moveToElement(careers).pause(SUBMENU_PAUSE).perform();
-        safeClick(careers);
-
-        // wait until URL contains /careers
-        wait.until(ExpectedConditions.urlContains("/careers"));
+        // The dropdown opens on real hover and the clicks stay native like safeClick; only the waits are batched
+        macro("open-careers-menu")
+                .waitVisible(navbarCompany)
+                .scrollIntoView(navbarCompany)
+                .hover(navbarCompany, HOVER_PAUSE)
+                .requireClickable(navbarCompany)
+                .nativeClick(navbarCompany)
+                .waitVisible(menuCareers)
+                .hover(menuCareers, SUBMENU_PAUSE)
+                .requireClickable(menuCareers)
+                .nativeClick(menuCareers)
+                .waitForUrlContains("/careers")
+                .run();
     }
 }
@@ -37,7 +37,8 @@ public class LeverApplicationFormPage extends BasePage {
     private WebElement applyForThisJobButton;
 
     public boolean isOpened() {
-        waitForElementVisible(applyForThisJobButton).isDisplayed();
-        return isCorrectPageOpened(JOB_DETAIL_PAGE_URL);
+        return awaitLocators("applyForThisJobButton")
+                && isVisible(applyForThisJobButton)
+                && isCorrectPageOpened(JOB_DETAIL_PAGE_URL);
     }
 }
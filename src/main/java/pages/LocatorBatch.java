@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2025 Ece Akkurt Kılıç
+ *
+ * Licensed under the MIT License. You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.How;
+import org.openqa.selenium.support.pagefactory.DefaultElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves every locator a page declares ({@code @FindBy} fields and {@code By} fields) in a single script call.
+ */
+final class LocatorBatch {
+
+    // Mirrors WebDriver's lookup semantics per strategy; always returns the first match in document order
+    private static final String RESOLVE_SCRIPT =
+            "var specs = arguments[0], out = [];" +
+            "function visible(el) {" +
+            "  if (!el) return false;" +
+            "  var s = window.getComputedStyle(el);" +
+            "  return s.visibility !== 'hidden' && s.display !== 'none'" +
+            "      && !!(el.offsetWidth || el.offsetHeight || el.getClientRects().length);" +
+            "}" +
+            "function link(text, exact) {" +
+            "  var as = document.getElementsByTagName('a');" +
+            "  for (var i = 0; i < as.length; i++) {" +
+            "    var t = (as[i].innerText || as[i].textContent || '').trim();" +
+            "    if (exact ? t === text : t.indexOf(text) !== -1) return as[i];" +
+            "  }" +
+            "  return null;" +
+            "}" +
+            "function find(how, v) {" +
+            "  switch (how) {" +
+            "    case 'id': return document.getElementById(v);" +
+            "    case 'name': return document.getElementsByName(v)[0] || null;" +
+            "    case 'idOrName': return document.getElementById(v) || document.getElementsByName(v)[0] || null;" +
+            "    case 'className': return document.getElementsByClassName(v)[0] || null;" +
+            "    case 'tagName': return document.getElementsByTagName(v)[0] || null;" +
+            "    case 'css': return document.querySelector(v);" +
+            "    case 'linkText': return link(v, true);" +
+            "    case 'partialLinkText': return link(v, false);" +
+            "    case 'xpath': return document.evaluate(v, document, null," +
+            "        XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "  }" +
+            "  return null;" +
+            "}" +
+            "for (var i = 0; i < specs.length; i++) {" +
+            "  var el = null, err = null;" +
+            "  try { el = find(specs[i][0], specs[i][1]); } catch (e) { err = String(e && e.message || e); }" +
+            "  out.push({present: !!el, visible: visible(el), element: el, error: err});" +
+            "}" +
+            "return out;";
+
+    static final class Entry {
+        final String name;
+        final String how;
+        final String using;
+        final Field field; // null for By fields, which are never hydrated
+
+        Entry(String name, String how, String using, Field field) {
+            this.name = name;
+            this.how = how;
+            this.using = using;
+            this.field = field;
+        }
+    }
+
+    private LocatorBatch() {}
+
+    static List<Entry> collect(BasePage page) {
+        List<Entry> entries = new ArrayList<>();
+        for (Class<?> c = page.getClass(); c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                FindBy findBy = field.getAnnotation(FindBy.class);
+                if (findBy != null && field.getType() == WebElement.class) {
+                    String[] spec = describe(findBy);
+                    entries.add(new Entry(field.getName(), spec[0], spec[1], field));
+                } else if (field.getType() == By.class) {
+                    // Instance and static (constant) By fields alike; Field.get ignores the target for statics
+                    String[] spec = describe(read(field, page));
+                    if (spec != null) {
+                        entries.add(new Entry(field.getName(), spec[0], spec[1], null));
+                    }
+                }
+            }
+        }
+        return entries;
+    }
+
+    @SuppressWarnings("unchecked")
+    static LocatorReport resolve(WebDriver driver, BasePage page) {
+        List<Entry> entries = collect(page);
+        List<List<String>> specs = new ArrayList<>();
+        for (Entry entry : entries) {
+            specs.add(Arrays.asList(entry.how, entry.using));
+        }
+        List<Map<String, Object>> raw = (List<Map<String, Object>>) ((JavascriptExecutor) driver)
+                .executeScript(RESOLVE_SCRIPT, specs);
+        LocatorReport report = new LocatorReport(page.getClass().getSimpleName());
+        for (int i = 0; i < entries.size(); i++) {
+            Map<String, Object> r = raw.get(i);
+            report.add(entries.get(i), Boolean.TRUE.equals(r.get("present")), Boolean.TRUE.equals(r.get("visible")),
+                    (WebElement) r.get("element"), (String) r.get("error"));
+        }
+        return report;
+    }
+
+    /**
+     * Replaces the PageFactory proxies of found elements with ones that start from the already resolved element
+     * and only fall back to a fresh lookup once it goes stale, including when the element is unwrapped.
+     */
+    static void hydrate(BasePage page, LocatorReport report, WebDriver driver) {
+        for (LocatorReport.Result result : report.results()) {
+            Entry entry = result.entry;
+            if (entry.field == null || result.element == null) continue;
+            ElementLocator locator = new DefaultElementLocator(driver, entry.field);
+            Object proxy = Proxy.newProxyInstance(page.getClass().getClassLoader(),
+                    new Class<?>[]{WebElement.class, WrapsElement.class, Locatable.class},
+                    new HydratedElementHandler(result.element, locator));
+            try {
+                entry.field.setAccessible(true);
+                entry.field.set(page, proxy);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot hydrate " + entry.name, e);
+            }
+        }
+    }
+
+    private static String[] describe(FindBy findBy) {
+        if (!findBy.id().isEmpty()) return new String[]{"id", findBy.id()};
+        if (!findBy.name().isEmpty()) return new String[]{"name", findBy.name()};
+        if (!findBy.className().isEmpty()) return new String[]{"className", findBy.className()};
+        if (!findBy.css().isEmpty()) return new String[]{"css", findBy.css()};
+        if (!findBy.tagName().isEmpty()) return new String[]{"tagName", findBy.tagName()};
+        if (!findBy.linkText().isEmpty()) return new String[]{"linkText", findBy.linkText()};
+        if (!findBy.partialLinkText().isEmpty()) return new String[]{"partialLinkText", findBy.partialLinkText()};
+        if (!findBy.xpath().isEmpty()) return new String[]{"xpath", findBy.xpath()};
+        return new String[]{howName(findBy.how()), findBy.using()};
+    }
+
+    // By.toString() is "By.<strategy>: <value>" for all built-in strategies
+    private static String[] describe(By by) {
+        if (by == null) return null;
+        String text = by.toString();
+        int colon = text.indexOf(": ");
+        if (!text.startsWith("By.") || colon < 0) return null;
+        String how = text.substring(3, colon);
+        return new String[]{"cssSelector".equals(how) ? "css" : how, text.substring(colon + 2)};
+    }
+
+    private static String howName(How how) {
+        switch (how) {
+            case NAME: return "name";
+            case CLASS_NAME: return "className";
+            case CSS: return "css";
+            case TAG_NAME: return "tagName";
+            case LINK_TEXT: return "linkText";
+            case PARTIAL_LINK_TEXT: return "partialLinkText";
+            case XPATH: return "xpath";
+            case ID: return "id";
+            default: return "idOrName";
+        }
+    }
+
+    private static By read(Field field, Object page) {
+        try {
+            field.setAccessible(true);
+            return (By) field.get(page);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static final class HydratedElementHandler implements InvocationHandler {
+        private final ElementLocator locator;
+        private WebElement element;
+
+        HydratedElementHandler(WebElement element, ElementLocator locator) {
+            this.element = element;
+            this.locator = locator;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("getWrappedElement".equals(method.getName())) {
+                // Script arguments and Actions origins are unwrapped and sent as-is, so they never reach the
+                // retry below; check here, at the cost of one round trip like PageFactory's own lookup
+                try {
+                    element.isEnabled();
+                } catch (StaleElementReferenceException e) {
+                    element = locator.findElement();
+                }
+                return element;
+            }
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException)) throw e.getCause();
+            }
+            element = locator.findElement();
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
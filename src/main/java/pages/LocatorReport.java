@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2025 Ece Akkurt Kılıç
+ *
+ * Licensed under the MIT License. You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package pages;
+
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Presence and visibility of every locator a page declares, as seen by one {@link LocatorBatch} call.
+ */
+public final class LocatorReport {
+
+    static final class Result {
+        final LocatorBatch.Entry entry;
+        final boolean present;
+        final boolean visible;
+        final WebElement element;
+        final String error;
+
+        Result(LocatorBatch.Entry entry, boolean present, boolean visible, WebElement element, String error) {
+            this.entry = entry;
+            this.present = present;
+            this.visible = visible;
+            this.element = element;
+            this.error = error;
+        }
+    }
+
+    private final String page;
+    private final Map<String, Result> results = new LinkedHashMap<>();
+
+    LocatorReport(String page) {
+        this.page = page;
+    }
+
+    void add(LocatorBatch.Entry entry, boolean present, boolean visible, WebElement element, String error) {
+        results.put(entry.name, new Result(entry, present, visible, element, error));
+    }
+
+    Collection<Result> results() {
+        return results.values();
+    }
+
+    public boolean isPresent(String name) {
+        Result r = results.get(name);
+        return r != null && r.present;
+    }
+
+    public boolean isVisible(String name) {
+        Result r = results.get(name);
+        return r != null && r.visible;
+    }
+
+    public boolean anyVisible(String... names) {
+        for (String name : names) {
+            if (isVisible(name)) return true;
+        }
+        return false;
+    }
+
+    public List<String> missing(String... names) {
+        List<String> missing = new ArrayList<>();
+        for (String name : names) {
+            if (!isPresent(name)) missing.add(name);
+        }
+        return missing;
+    }
+
+    public String format() {
+        StringBuilder sb = new StringBuilder("Locators of ").append(page).append(':');
+        for (Result r : results.values()) {
+            sb.append("\n  ").append(r.visible ? "[visible] " : r.present ? "[hidden]  " : "[missing] ")
+                    .append(r.entry.name).append(" (").append(r.entry.how).append('=').append(r.entry.using).append(')');
+            if (r.error != null) {
+                sb.append(" error: ").append(r.error);
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2025 Ece Akkurt Kılıç
+ *
+ * Licensed under the MIT License. You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package pages;
+
+import org.openqa.selenium.By;
+import utils.SuiteMetrics;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Interned {@link By} locators keyed by (tag, predicate, text, strategy).
+ * Text is escaped once when a locator is first built; later lookups return the same instance.
+ */
+public final class Locators {
+
+    public enum Strategy {
+        /** {@code //tag[contains(text(), ...)]} — direct text node of the element. */
+        CONTAINS_TEXT,
+        /** {@code //tag[contains(normalize-space(.), ...)]} — all descendant text, whitespace collapsed. */
+        CONTAINS_NORMALIZED_TEXT,
+        /** Exact anchor text; native link-text lookup, no XPath. */
+        LINK_TEXT,
+        /** Partial anchor text; native link-text lookup, no XPath. */
+        PARTIAL_LINK_TEXT,
+        /** Element id, as {@code By.id} or {@code tag#id} CSS. */
+        ID,
+        /** Single class name, as {@code tag.class} CSS. */
+        CSS_CLASS
+    }
+
+    private static final class Key {
+        final String tag;
+        final String predicate;
+        final String text;
+        final Strategy strategy;
+
+        Key(String tag, String predicate, String text, Strategy strategy) {
+            this.tag = tag;
+            this.predicate = predicate;
+            this.text = text;
+            this.strategy = strategy;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return strategy == other.strategy && Objects.equals(tag, other.tag)
+                    && Objects.equals(predicate, other.predicate) && Objects.equals(text, other.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tag, predicate, text, strategy);
+        }
+    }
+
+    private static final Map<Key, By> REGISTRY = new ConcurrentHashMap<>();
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private Locators() {}
+
+    /** {@code tag} is a plain element name; {@code null}, empty or {@code *} matches any element. */
+    public static By of(String tag, String text, Strategy strategy) {
+        return of(tag, null, text, strategy);
+    }
+
+    /**
+     * Same as {@link #of(String, String, Strategy)} with an extra XPath predicate on the element, given without
+     * brackets, e.g. {@code contains(@id, 'result-')}. Only the XPath strategies accept a predicate.
+     */
+    public static By of(String tag, String predicate, String text, Strategy strategy) {
+        if (tag != null && (tag.indexOf('[') >= 0 || tag.indexOf('/') >= 0)) {
+            throw new IllegalArgumentException("Tag must be an element name, pass predicates separately: " + tag);
+        }
+        boolean hasPredicate = predicate != null && !predicate.isEmpty();
+        if (hasPredicate && strategy != Strategy.CONTAINS_TEXT && strategy != Strategy.CONTAINS_NORMALIZED_TEXT) {
+            throw new IllegalArgumentException("Strategy " + strategy + " does not support an XPath predicate");
+        }
+        Key key = new Key(tag, hasPredicate ? predicate : null, text, strategy);
+        By by = REGISTRY.get(key);
+        if (by == null) {
+            // Only the caller whose mapping function runs counts a miss; racing callers get its instance as a hit
+            boolean[] built = {false};
+            by = REGISTRY.computeIfAbsent(key, k -> {
+                built[0] = true;
+                return build(k);
+            });
+            if (built[0]) {
+                MISSES.increment();
+                SuiteMetrics.increment("locators.misses");
+                return by;
+            }
+        }
+        HITS.increment();
+        SuiteMetrics.increment("locators.hits");
+        return by;
+    }
+
+    public static long hits() {
+        return HITS.sum();
+    }
+
+    public static long misses() {
+        return MISSES.sum();
+    }
+
+    public static double hitRate() {
+        long hits = hits();
+        long total = hits + misses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    static String xpath(String tag, String text) {
+        return String.format("//%s[contains(text(),%s)]", tag, xpathLiteral(text));
+    }
+
+    private static String xpath(String tag, String predicate, String textTest) {
+        return "//" + tag + (predicate == null ? "" : "[" + predicate + "]") + "[" + textTest + "]";
+    }
+
+    // Safely wraps arbitrary text as an XPath literal (handles quotes).
+    static String xpathLiteral(String text) {
+        if (text == null) return "''"; // empty string literal
+        if (text.indexOf('\'') < 0) return "'" + text + "'";
+        if (text.indexOf('"') < 0) return '"' + text + '"';
+        // Contains both single and double quotes: concat('a',"'",'b',...)
+        StringJoiner parts = new StringJoiner(",", "concat(", ")");
+        String[] chunks = text.split("'", -1);
+        for (int i = 0; i < chunks.length; i++) {
+            if (i > 0) parts.add("\"'\"");
+            if (!chunks[i].isEmpty()) parts.add("'" + chunks[i] + "'");
+        }
+        return parts.toString();
+    }
+
+    private static By build(Key key) {
+        boolean anyTag = key.tag == null || key.tag.isEmpty() || "*".equals(key.tag);
+        switch (key.strategy) {
+            case LINK_TEXT:
+                return By.linkText(key.text);
+            case PARTIAL_LINK_TEXT:
+                return By.partialLinkText(key.text);
+            case ID:
+                return anyTag ? By.id(key.text) : By.cssSelector(key.tag + "#" + cssIdentifier(key.text));
+            case CSS_CLASS:
+                return By.cssSelector((anyTag ? "" : key.tag) + "." + cssIdentifier(key.text));
+            case CONTAINS_NORMALIZED_TEXT:
+                return By.xpath(xpath(anyTag ? "*" : key.tag, key.predicate,
+                        "contains(normalize-space(.)," + xpathLiteral(key.text) + ")"));
+            case CONTAINS_TEXT:
+            default:
+                return By.xpath(xpath(anyTag ? "*" : key.tag, key.predicate,
+                        "contains(text()," + xpathLiteral(key.text) + ")"));
+        }
+    }
+
+    // CSS.escape() equivalent for ids and class names
+    private static String cssIdentifier(String value) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean plain = Character.isLetter(c) || c == '_' || c == '-' || c > 0x7F
+                    || (Character.isDigit(c) && i > 0 && !(i == 1 && value.charAt(0) == '-'));
+            if (plain) {
+                sb.append(c);
+            } else {
+                sb.append('\\').append(Integer.toHexString(c)).append(' ');
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -57,8 +57,8 @@ public class QAJobsPage extends BasePage {
     @FindBy(id = "select2-filter-by-location-container")
     private WebElement locDropdown;
 
-    private final By locationOptionBy = By.xpath("//li[contains(@id, 'select2-filter-by-location-result-') and contains(normalize-space(.),'" +
-            CITY.replace("'", "\\'") + "')]");
+    private final By locationOptionBy = Locators.of("li",
+            "contains(@id, 'select2-filter-by-location-result-')", CITY, Locators.Strategy.CONTAINS_NORMALIZED_TEXT);
 
     // Fixed the accidentally truncated alphabet in the translate() mapping
     private final By viewRoleAny = By.linkText("View Role");
@@ -66,7 +66,7 @@ public class QAJobsPage extends BasePage {
     private final By jobCards = By.cssSelector("[data-team-item], .position-list-item, .job-card, [data-position]");
 
     public boolean isOpened() {
-        return isElementVisible(Constants.SPAN, QA);
+        return awaitLocators("seeAllQaJobs") && isElementVisible(Constants.SPAN, QA);
     }
 
     public void clickSeeAllQAJobs() {
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2025 Ece Akkurt Kılıç
+ *
+ * Licensed under the MIT License. You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content-addressed store for test evidence (screenshots, DOM dumps, logs).
+ * <p>
+ * Every blob is stored once under {@code blobs/<2 hex>/<sha-256>.gz}, or as-is with its own extension for
+ * already compressed kinds such as {@code screenshot.png}; storing identical content again only refreshes its
+ * timestamp. Each run writes a compact index {@code runs/<runId>.tsv} (test, kind, hash, size).
+ * When the blobs exceed -DartifactMaxBytes (default 512 MB) the least recently stored blobs that no index
+ * references are evicted; if that is not enough, the oldest run indexes are dropped together with the blobs
+ * only they referenced. Only the newest -DartifactMaxRuns (default 500) run indexes are kept.
+ */
+public final class ArtifactStore {
+
+    private static final String RUN_ID = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"))
+            + "_" + ProcessHandle.current().pid();
+
+    // Formats that are already compressed; gzip would only cost time
+    private static final String[] STORED_AS_IS = {".png", ".jpg", ".jpeg", ".webm", ".zip", ".gz"};
+
+    private static ArtifactStore instance;
+
+    private final Path root;
+    private final String runId;
+    private final long maxBytes;
+    private final int maxRuns;
+    private long totalBytes = -1; // lazily scanned on first write
+
+    public ArtifactStore(Path root, long maxBytes, int maxRuns) {
+        this(root, maxBytes, maxRuns, RUN_ID);
+    }
+
+    ArtifactStore(Path root, long maxBytes, int maxRuns, String runId) {
+        this.root = root;
+        this.maxBytes = maxBytes;
+        this.maxRuns = maxRuns;
+        this.runId = runId;
+    }
+
+    /**
+     * Store configured via -DartifactDir (default .artifacts, git-ignored). It lives outside target/ so that
+     * {@code mvn clean} does not throw away the blobs later runs deduplicate against.
+     */
+    public static synchronized ArtifactStore getDefault() {
+        if (instance == null) {
+            instance = new ArtifactStore(
+                    Paths.get(System.getProperty("artifactDir", ".artifacts")),
+                    Long.getLong("artifactMaxBytes", 512L * 1024 * 1024),
+                    Integer.getInteger("artifactMaxRuns", 500));
+        }
+        return instance;
+    }
+
+    public static String getRunId() {
+        return RUN_ID;
+    }
+
+    /**
+     * Stores {@code content} for {@code test} and returns its hash.
+     */
+    public synchronized String put(String test, String kind, byte[] content) {
+        try {
+            String hash = Hashes.sha256(content);
+            Path blob = blobPath(hash, kind);
+            if (Files.exists(blob)) {
+                Files.setLastModifiedTime(blob, FileTime.fromMillis(System.currentTimeMillis()));
+            } else {
+                long written = write(blob, content, !storedAsIs(kind));
+                if (totalBytes < 0) {
+                    totalBytes = scanBlobBytes();
+                } else {
+                    totalBytes += written;
+                }
+                evictBlobs(blob);
+            }
+            appendIndex(test, kind, hash, content.length);
+            return hash;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store " + kind + " for " + test, e);
+        }
+    }
+
+    public String put(String test, String kind, String content) {
+        return put(test, kind, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Where the blob of {@code hash} stored as {@code kind} lives; {@code .png} and similar stay directly viewable. */
+    public Path blobPath(String hash, String kind) {
+        String extension = storedAsIs(kind) ? kind.substring(kind.lastIndexOf('.')).toLowerCase(Locale.ROOT) : ".gz";
+        return root.resolve("blobs").resolve(hash.substring(0, 2)).resolve(hash + extension);
+    }
+
+    public Path runIndex() {
+        return root.resolve("runs").resolve(runId + ".tsv");
+    }
+
+    private static boolean storedAsIs(String kind) {
+        String lower = kind.toLowerCase(Locale.ROOT);
+        for (String extension : STORED_AS_IS) {
+            if (lower.endsWith(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long write(Path blob, byte[] content, boolean gzip) throws IOException {
+        Files.createDirectories(blob.getParent());
+        Path tmp = Files.createTempFile(blob.getParent(), "blob", ".tmp");
+        try (OutputStream out = gzip ? new GZIPOutputStream(Files.newOutputStream(tmp)) : Files.newOutputStream(tmp)) {
+            out.write(content);
+        }
+        // Atomic, so a parallel JVM storing the same blob never sees a half-written file
+        Files.move(tmp, blob, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return Files.size(blob);
+    }
+
+    private void appendIndex(String test, String kind, String hash, int size) throws IOException {
+        Path index = runIndex();
+        boolean firstEntry = !Files.exists(index);
+        Files.createDirectories(index.getParent());
+        String line = test.replace('\t', ' ') + '\t' + kind + '\t' + hash + '\t' + size + '\n';
+        Files.write(index, line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        if (firstEntry) {
+            pruneRuns();
+        }
+    }
+
+    private long scanBlobBytes() throws IOException {
+        long total = 0;
+        for (Path blob : listBlobs()) {
+            total += Files.size(blob);
+        }
+        return total;
+    }
+
+    private void evictBlobs(Path keep) throws IOException {
+        if (totalBytes <= maxBytes) {
+            return;
+        }
+        // Oldest first; the current run's index is never dropped
+        List<Path> indexes = listIndexes();
+        indexes.remove(runIndex());
+        Map<String, Integer> references = new HashMap<>();
+        for (Path index : indexes) {
+            hashesIn(index).forEach(hash -> references.merge(hash, 1, Integer::sum));
+        }
+        hashesIn(runIndex()).forEach(hash -> references.merge(hash, 1, Integer::sum));
+
+        List<Path> blobs = listBlobs();
+        blobs.sort(Comparator.comparing(ArtifactStore::lastModified));
+        int dropped = 0;
+        while (true) {
+            for (Iterator<Path> it = blobs.iterator(); it.hasNext() && totalBytes > maxBytes; ) {
+                Path blob = it.next();
+                if (blob.equals(keep) || references.containsKey(hashOf(blob))) continue;
+                long size = Files.size(blob);
+                if (Files.deleteIfExists(blob)) {
+                    totalBytes -= size;
+                }
+                it.remove();
+            }
+            if (totalBytes <= maxBytes || dropped == indexes.size()) {
+                return;
+            }
+            // Every remaining blob is still referenced: give up the oldest run so its evidence goes as a whole
+            Path oldest = indexes.get(dropped++);
+            hashesIn(oldest).forEach(hash -> references.computeIfPresent(hash, (h, n) -> n == 1 ? null : n - 1));
+            Files.deleteIfExists(oldest);
+        }
+    }
+
+    private void pruneRuns() throws IOException {
+        List<Path> indexes = listIndexes();
+        // Blobs only these runs referenced become unreferenced and are the first to go on the next eviction
+        for (int i = 0; i < indexes.size() - maxRuns; i++) {
+            Files.deleteIfExists(indexes.get(i));
+        }
+    }
+
+    // Oldest first
+    private List<Path> listIndexes() throws IOException {
+        Path runs = root.resolve("runs");
+        if (!Files.exists(runs)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(runs)) {
+            return files.filter(p -> p.toString().endsWith(".tsv"))
+                    .sorted(Comparator.comparing(ArtifactStore::lastModified))
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    private static List<String> hashesIn(Path index) throws IOException {
+        List<String> hashes = new ArrayList<>();
+        if (!Files.exists(index)) {
+            return hashes;
+        }
+        for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+            String[] columns = line.split("\t");
+            if (columns.length >= 3) {
+                hashes.add(columns[2]);
+            }
+        }
+        return hashes;
+    }
+
+    private static String hashOf(Path blob) {
+        String name = blob.getFileName().toString();
+        return name.substring(0, name.indexOf('.'));
+    }
+
+    private List<Path> listBlobs() throws IOException {
+        Path blobs = root.resolve("blobs");
+        if (!Files.exists(blobs)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.walk(blobs)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(p -> !p.toString().endsWith(".tmp"))
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
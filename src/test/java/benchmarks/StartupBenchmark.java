@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2025 Ece Akkurt Kılıç
+ *
+ * Licensed under the MIT License. You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package benchmarks;
+
+import core.DriverFactory;
+import core.LaunchProfile;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures session-creation time per launch profile and browser.
+ * Not part of the regular suite; run with {@code mvn test -Dtest=StartupBenchmark}.
+ * <p>
+ * Cold = first session after dropping the profile's user data template, warm = the following sessions.
+ * Options: -DstartupBenchmark.browsers=chrome,firefox, -DstartupBenchmark.warmRuns=3, -DfirefoxBinary=...
+ */
+public class StartupBenchmark {
+
+    private static final int WARM_RUNS = Integer.getInteger("startupBenchmark.warmRuns", 3);
+
+    private final List<String> rows = new ArrayList<>();
+
+    @DataProvider
+    public Object[][] launchMatrix() {
+        String[] browsers = System.getProperty("startupBenchmark.browsers", "chrome,firefox").split(",");
+        List<Object[]> matrix = new ArrayList<>();
+        for (String browser : browsers) {
+            for (LaunchProfile profile : LaunchProfile.values()) {
+                matrix.add(new Object[]{browser.trim(), profile});
+            }
+        }
+        return matrix.toArray(new Object[0][]);
+    }
+
+    @Test(dataProvider = "launchMatrix")
+    public void measureSessionCreation(String browser, LaunchProfile profile) {
+        String firefoxBinary = System.getProperty("firefoxBinary", "");
+        // Driver download/lookup is not session creation; keep it out of the cold number
+        DriverFactory.resolveDriverBinary(browser);
+
+        DriverFactory.resetUserDataTemplate(browser, profile);
+        long cold = timeSession(browser, profile, firefoxBinary);
+
+        long[] warm = new long[WARM_RUNS];
+        for (int i = 0; i < WARM_RUNS; i++) {
+            warm[i] = timeSession(browser, profile, firefoxBinary);
+        }
+        Arrays.sort(warm);
+
+        rows.add(String.format(Locale.ROOT, "%-8s %-14s cold=%6d ms  warm(median)=%6d ms  warm(min)=%6d ms",
+                browser, profile.getId(), cold,
+                warm.length == 0 ? 0 : warm[warm.length / 2],
+                warm.length == 0 ? 0 : warm[0]));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void report() {
+        System.out.println("---- Browser startup benchmark (session creation) ----");
+        rows.forEach(System.out::println);
+    }
+
+    private static long timeSession(String browser, LaunchProfile profile, String firefoxBinary) {
+        long start = System.nanoTime();
+        WebDriver driver = DriverFactory.createDriver(browser, profile, firefoxBinary);
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        DriverFactory.quit(driver);
+        return elapsed;
+    }
+}
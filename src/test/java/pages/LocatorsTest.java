@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2025 Ece Akkurt Kılıç
+ *
+ * Licensed under the MIT License. You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package pages;
+
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class LocatorsTest {
+
+    @Test
+    public void plainTextIsSingleQuoted() {
+        Assert.assertEquals(Locators.xpathLiteral("Quality Assurance"), "'Quality Assurance'");
+    }
+
+    @Test
+    public void nullIsTheEmptyLiteral() {
+        Assert.assertEquals(Locators.xpathLiteral(null), "''");
+    }
+
+    @Test
+    public void singleQuotesSwitchToDoubleQuotes() {
+        Assert.assertEquals(Locators.xpathLiteral("Don't"), "\"Don't\"");
+    }
+
+    @Test
+    public void bothQuoteKindsUseConcat() {
+        Assert.assertEquals(Locators.xpathLiteral("it's \"fine\""), "concat('it',\"'\",'s \"fine\"')");
+    }
+
+    @Test
+    public void leadingAndTrailingQuotesProduceNoEmptyParts() {
+        Assert.assertEquals(Locators.xpathLiteral("'\"'"), "concat(\"'\",'\"',\"'\")");
+    }
+
+    @Test
+    public void predicateIsPartOfTheKey() {
+        By plain = Locators.of("li", "Istanbul", Locators.Strategy.CONTAINS_NORMALIZED_TEXT);
+        By filtered = Locators.of("li", "contains(@id, 'result-')", "Istanbul",
+                Locators.Strategy.CONTAINS_NORMALIZED_TEXT);
+
+        Assert.assertNotSame(filtered, plain);
+        Assert.assertSame(Locators.of("li", "contains(@id, 'result-')", "Istanbul",
+                Locators.Strategy.CONTAINS_NORMALIZED_TEXT), filtered);
+        Assert.assertEquals(filtered,
+                By.xpath("//li[contains(@id, 'result-')][contains(normalize-space(.),'Istanbul')]"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void predicateInTagIsRejected() {
+        Locators.of("li[@id='x']", "Istanbul", Locators.Strategy.CONTAINS_TEXT);
+    }
+}
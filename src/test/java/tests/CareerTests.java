@@ -26,10 +26,9 @@
 
 package tests;
 
+import core.JourneyCheckpoints;
 import org.testng.Assert;
 import org.testng.annotations.Test;
-import pages.CareersPage;
-import pages.HomePage;
 import pages.LeverApplicationFormPage;
 import pages.QAJobsPage;
 import utils.Constants;
@@ -41,14 +40,8 @@ public class CareerTests extends TestBase {
                     "open the QA jobs listing, filter by location, and view the details of the first QA role."
     )
     public void shouldNavigateToFirstQARoleDetailsFromHomePage() {
-        HomePage homePage = new HomePage();
-        Assert.assertTrue(homePage.isOpened(), Constants.ERROR_HOME_PAGE_NOT_OPENED);
-
-        homePage.openCareersFromCompanyMenu();
-        CareersPage careers = new CareersPage();
-        Assert.assertTrue(careers.isOpened(), Constants.ERROR_CAREER_PAGE_NOT_OPENED);
-
-        careers.openQACategory();
+        // This test verifies the navigation itself, so it always runs the prefix and (re)captures the checkpoint
+        JourneyCheckpoints.record(QA_CATEGORY_CHECKPOINT, false, this::navigateFromHomeToQACategory);
 
         QAJobsPage qaJobsPage = new QAJobsPage();
         Assert.assertTrue(qaJobsPage.isOpened(), Constants.ERROR_JOB_PAGE_NOT_OPENED);
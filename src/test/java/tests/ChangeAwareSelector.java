@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2025 Ece Akkurt Kılıç
+ *
+ * Licensed under the MIT License. You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package tests;
+
+import core.DependencyRecorder;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import utils.SuiteMetrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs only the tests whose recorded dependencies (see {@link DependencyRecorder}) changed since their last pass.
+ * <p>
+ * Fingerprints live in {@code .test-selection/dependencies.tsv} (-DtestSelectionDir to move it).
+ * Tests without a passing record always run; -DfullRun=true runs everything, e.g. for nightly builds.
+ */
+public class ChangeAwareSelector implements IMethodInterceptor, IInvokedMethodListener, ISuiteListener {
+
+    private static final Path STORE = Paths.get(System.getProperty("testSelectionDir", ".test-selection"))
+            .resolve("dependencies.tsv");
+
+    static {
+        // TestBase, this selector and other test-side helpers count as shared code too
+        DependencyRecorder.addCodeRoot(ChangeAwareSelector.class);
+    }
+
+    // test id -> (dependency key -> fingerprint)
+    private static final Map<String, Map<String, String>> RECORDS = load();
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (Boolean.getBoolean("fullRun")) {
+            return methods;
+        }
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (IMethodInstance instance : methods) {
+            String id = testId(context, instance.getMethod());
+            Map<String, String> record = RECORDS.get(id);
+            if (record == null || record.entrySet().stream()
+                    .anyMatch(dep -> !Objects.equals(DependencyRecorder.fingerprint(dep.getKey()), dep.getValue()))) {
+                selected.add(instance);
+                SuiteMetrics.increment("selection.selected");
+            } else {
+                System.out.println("Change-aware selection: skipping " + id + " (no recorded dependency changed)");
+                SuiteMetrics.increment("selection.skipped");
+            }
+        }
+        return selected;
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            DependencyRecorder.startTest();
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        String id = testId(testResult.getTestContext(), method.getTestMethod());
+        List<String> keys = new ArrayList<>(DependencyRecorder.finishTest());
+        for (Class<?> c = method.getTestMethod().getRealClass(); c != null && c != Object.class; c = c.getSuperclass()) {
+            keys.add("class:" + c.getName());
+        }
+        keys.add(DependencyRecorder.SHARED_CODE);
+        if (testResult.getStatus() != ITestResult.SUCCESS) {
+            // A failing test must run again next time, whatever changes
+            RECORDS.remove(id);
+            return;
+        }
+        Map<String, String> record = new TreeMap<>();
+        for (String key : keys) {
+            String fingerprint = DependencyRecorder.fingerprint(key);
+            if (fingerprint != null) {
+                record.put(key, fingerprint);
+            }
+        }
+        RECORDS.put(id, record);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        StringBuilder sb = new StringBuilder();
+        new TreeMap<>(RECORDS).forEach((id, record) -> record.forEach((key, fingerprint) ->
+                sb.append(id).append('\t').append(key).append('\t').append(fingerprint).append('\n')));
+        try {
+            Files.createDirectories(STORE.getParent());
+            Files.write(STORE, sb.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.out.println("Could not save test selection fingerprints: " + e.getMessage());
+        }
+    }
+
+    private static String testId(ITestContext context, ITestNGMethod method) {
+        return context.getName() + "/" + method.getQualifiedName();
+    }
+
+    private static Map<String, Map<String, String>> load() {
+        Map<String, Map<String, String>> records = new ConcurrentHashMap<>();
+        if (!Files.exists(STORE)) {
+            return records;
+        }
+        try {
+            for (String line : Files.readAllLines(STORE, StandardCharsets.UTF_8)) {
+                String[] parts = line.split("\t");
+                if (parts.length == 3) {
+                    records.computeIfAbsent(parts[0], id -> new TreeMap<>()).put(parts[1], parts[2]);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Could not read test selection fingerprints, running everything: " + e.getMessage());
+            records.clear();
+        }
+        return records;
+    }
+}
@@ -27,37 +27,55 @@
 package tests;
 
 import core.DriverFactory;
+import core.JourneyCheckpoints;
+import core.WireMetrics;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.io.FileHandler;
+import org.testng.Assert;
 import org.testng.ITestResult;
 import org.testng.annotations.*;
+import pages.CareersPage;
+import pages.HomePage;
+import pages.QAJobsPage;
+import utils.ArtifactStore;
+import utils.Constants;
+import utils.SuiteMetrics;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
+@Listeners(ChangeAwareSelector.class)
 public abstract class TestBase {
 
+    protected static final String QA_CATEGORY_CHECKPOINT = "qa-category";
+
+    protected String baseURL;
+
     @BeforeClass
     @Parameters({"baseURL", "browser", "firefoxBinary"})
     public void setup(String baseURL, @Optional("chrome") String browser, @Optional("") String firefoxBinary) {
+        this.baseURL = baseURL;
         DriverFactory.init(baseURL, browser, firefoxBinary);
     }
 
     @AfterMethod
     public void tearDown(ITestResult result) {
-        System.out.println("Test closed with result: " + result.getStatus());
+        System.out.println("Test closed with result: " + result.getStatus()
+                + " in " + (result.getEndMillis() - result.getStartMillis()) + " ms");
+        WireMetrics wire = DriverFactory.getWireMetrics();
+        if (wire != null) {
+            System.out.println((DriverFactory.isSharedBrowserSession()
+                    ? "Shared browser wire so far (all journeys of the process): " : "Driver wire so far: ") + wire);
+        }
         if (ITestResult.FAILURE == result.getStatus()) {
-            Path path = takeScreenshot(result.getName());
+            String test = result.getTestContext().getName() + "/" + result.getMethod().getQualifiedName();
+            Path path = takeScreenshot(test);
             if (path != null) {
                 System.out.println("Screenshot saved to: " + path.toAbsolutePath());
             }
+            storeFailureEvidence(test, result.getThrowable());
         }
     }
 
@@ -66,23 +84,66 @@ public abstract class TestBase {
         DriverFactory.quit();
     }
 
+    @AfterSuite(alwaysRun = true)
+    public void closeSharedBrowsers() {
+        DriverFactory.quitSharedBrowsers();
+        System.out.println(SuiteMetrics.report());
+    }
+
     public Path takeScreenshot(String testName) {
         try {
-            Path dir = Paths.get("src", "test", "resources", "screenshots");
-            if (!Files.exists(dir)) {
-                Files.createDirectories(dir);
-            }
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            Path target = dir.resolve(testName + "_" + timestamp + ".png");
-            File screenshot = ((TakesScreenshot) getDriver()).getScreenshotAs(OutputType.FILE);
-            FileHandler.copy(screenshot, target.toFile());
-            return target;
-        } catch (IOException ex) {
+            byte[] png = ((TakesScreenshot) getDriver()).getScreenshotAs(OutputType.BYTES);
+            ArtifactStore store = ArtifactStore.getDefault();
+            return store.blobPath(store.put(testName, "screenshot.png", png), "screenshot.png");
+        } catch (RuntimeException ex) {
             System.out.println("Screenshot error: " + ex.getMessage());
             return null;
         }
     }
 
+    private void storeFailureEvidence(String testName, Throwable failure) {
+        ArtifactStore store = ArtifactStore.getDefault();
+        try {
+            store.put(testName, "dom.html", getDriver().getPageSource());
+        } catch (RuntimeException ex) {
+            System.out.println("DOM dump error: " + ex.getMessage());
+        }
+        if (failure != null) {
+            StringWriter trace = new StringWriter();
+            failure.printStackTrace(new PrintWriter(trace));
+            try {
+                store.put(testName, "failure.log", trace.toString());
+            } catch (RuntimeException ex) {
+                System.out.println("Failure log error: " + ex.getMessage());
+            }
+        }
+        System.out.println("Artifacts indexed in: " + store.runIndex().toAbsolutePath());
+    }
+
+    /**
+     * Puts the session on the QA category page, restoring the shared checkpoint when one is fresh.
+     * Tests that only need the QA listing should start here instead of replaying the home → careers steps.
+     */
+    protected QAJobsPage openQACategory() {
+        // On a miss the session may be anywhere (robots.txt, the previous test's last page), so start from home
+        JourneyCheckpoints.reach(QA_CATEGORY_CHECKPOINT, () -> {
+            getDriver().navigate().to(baseURL);
+            navigateFromHomeToQACategory();
+        }, () -> new QAJobsPage().isOpened());
+        return new QAJobsPage();
+    }
+
+    protected void navigateFromHomeToQACategory() {
+        HomePage homePage = new HomePage();
+        Assert.assertTrue(homePage.isOpened(), Constants.ERROR_HOME_PAGE_NOT_OPENED);
+
+        homePage.openCareersFromCompanyMenu();
+        CareersPage careers = new CareersPage();
+        Assert.assertTrue(careers.isOpened(), Constants.ERROR_CAREER_PAGE_NOT_OPENED);
+
+        careers.openQACategory();
+    }
+
     public WebDriver getDriver() {
         return DriverFactory.getDriver();
     }
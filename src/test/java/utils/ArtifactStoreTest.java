@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2025 Ece Akkurt Kılıç
+ *
+ * Licensed under the MIT License. You may obtain a copy of the License at
+ *
+ *     https://opensource.org/licenses/MIT
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ArtifactStoreTest {
+
+    // Stored as-is, so blob sizes on disk equal the content sizes
+    private static final String PNG = "screenshot.png";
+    private static final int BLOB = 1000;
+
+    private final Random random = new Random(42);
+    private Path root;
+
+    @BeforeMethod
+    public void createRoot() throws IOException {
+        root = Files.createTempDirectory("artifacts");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteRoot() throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path path : files.sorted((a, b) -> b.compareTo(a)).collect(Collectors.toList())) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void identicalContentIsStoredOnce() throws IOException {
+        ArtifactStore store = new ArtifactStore(root, Long.MAX_VALUE, 10, "run1");
+        byte[] png = randomBytes();
+
+        String first = store.put("a/test1", PNG, png);
+        String second = store.put("a/test2", PNG, png);
+
+        Assert.assertEquals(second, first);
+        Assert.assertEquals(blobs().size(), 1);
+        Assert.assertEquals(Files.readAllLines(store.runIndex()).size(), 2);
+    }
+
+    @Test
+    public void screenshotsStayPlainAndTextIsCompressed() throws IOException {
+        ArtifactStore store = new ArtifactStore(root, Long.MAX_VALUE, 10, "run1");
+        byte[] png = randomBytes();
+
+        Path image = store.blobPath(store.put("a/test", PNG, png), PNG);
+        Path log = store.blobPath(store.put("a/test", "failure.log", "trace"), "failure.log");
+
+        Assert.assertTrue(image.toString().endsWith(".png"), image.toString());
+        Assert.assertEquals(Files.readAllBytes(image), png);
+        Assert.assertTrue(log.toString().endsWith(".gz"), log.toString());
+    }
+
+    @Test
+    public void evictsUnreferencedBlobsBeforeReferencedOnes() throws IOException {
+        // An orphan left behind by a pruned run index
+        ArtifactStore pruned = new ArtifactStore(root, Long.MAX_VALUE, 10, "run0");
+        Path orphan = pruned.blobPath(pruned.put("a/test", PNG, randomBytes()), PNG);
+        Files.delete(pruned.runIndex());
+        age(orphan, 3);
+
+        ArtifactStore older = new ArtifactStore(root, Long.MAX_VALUE, 10, "run1");
+        Path kept = older.blobPath(older.put("a/test", PNG, randomBytes()), PNG);
+        age(kept, 2);
+        age(older.runIndex(), 2);
+
+        ArtifactStore current = new ArtifactStore(root, 2L * BLOB, 10, "run2");
+        Path added = current.blobPath(current.put("a/test", PNG, randomBytes()), PNG);
+
+        Assert.assertFalse(Files.exists(orphan));
+        Assert.assertTrue(Files.exists(kept), "blob of a retained run index was evicted");
+        Assert.assertTrue(Files.exists(older.runIndex()));
+        Assert.assertTrue(Files.exists(added));
+    }
+
+    @Test
+    public void dropsOldestRunTogetherWithItsBlobsWhenAllAreReferenced() throws IOException {
+        ArtifactStore oldest = new ArtifactStore(root, Long.MAX_VALUE, 10, "run1");
+        Path dropped = oldest.blobPath(oldest.put("a/test", PNG, randomBytes()), PNG);
+        age(dropped, 3);
+        age(oldest.runIndex(), 3);
+
+        ArtifactStore older = new ArtifactStore(root, Long.MAX_VALUE, 10, "run2");
+        Path kept = older.blobPath(older.put("a/test", PNG, randomBytes()), PNG);
+        age(kept, 2);
+        age(older.runIndex(), 2);
+
+        ArtifactStore current = new ArtifactStore(root, 2L * BLOB, 10, "run3");
+        Path added = current.blobPath(current.put("a/test", PNG, randomBytes()), PNG);
+
+        Assert.assertFalse(Files.exists(oldest.runIndex()));
+        Assert.assertFalse(Files.exists(dropped));
+        Assert.assertTrue(Files.exists(older.runIndex()));
+        Assert.assertTrue(Files.exists(kept));
+        Assert.assertTrue(Files.exists(added));
+        Assert.assertEquals(blobs().size(), 2);
+    }
+
+    private byte[] randomBytes() {
+        byte[] bytes = new byte[BLOB];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    private static void age(Path path, int minutes) throws IOException {
+        Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis() - minutes * 60_000L));
+    }
+
+    private List<Path> blobs() throws IOException {
+        try (Stream<Path> files = Files.walk(root.resolve("blobs"))) {
+            return files.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+    }
+}